@@ -31,15 +31,17 @@ print_error() {
 
 # Function to show usage
 show_usage() {
-    echo "Usage: $0 [OPTION]"
+    echo "Usage: $0 [OPTION] [--shard i/N]"
     echo ""
     echo "Options:"
     echo "  sanity      Run sanity tests only"
     echo "  smoke       Run smoke tests only"
     echo "  regression  Run full regression suite"
+    echo "  performance Run load tests (@performance)"
     echo "  all         Run all tests"
     echo "  docker      Run tests in Docker container"
     echo "  security    Run security tests"
+    echo "  merge       Merge shard reports: $0 merge <shard report dir>..."
     echo "  clean       Clean target directory"
     echo "  install     Install Playwright dependencies"
     echo "  help        Show this help message"
@@ -48,6 +50,7 @@ show_usage() {
     echo "  $0 sanity"
     echo "  $0 docker"
     echo "  $0 regression"
+    echo "  $0 regression --shard 2/3   # run the second of three duration-balanced shards"
 }
 
 # Function to install Playwright
@@ -72,7 +75,12 @@ run_tests() {
     print_info "Running $description..."
     print_info "Tags: $tags"
 
-    mvn test -Dtest=**/CucumberTestRunner -Dcucumber.filter.tags="$tags"
+    if [ -n "$SHARD" ]; then
+        print_info "Shard: $SHARD"
+        mvn test -Dtest=**/CucumberTestRunner -Dcucumber.filter.tags="$tags" -Dcucumber.shard="$SHARD"
+    else
+        mvn test -Dtest=**/CucumberTestRunner -Dcucumber.filter.tags="$tags"
+    fi
 
     if [ $? -eq 0 ]; then
         print_success "$description completed successfully"
@@ -83,8 +91,25 @@ run_tests() {
     fi
 }
 
+# Function to merge the reports of several shards into target/cucumber-reports
+merge_reports() {
+    if [ $# -eq 0 ]; then
+        print_error "No shard report directories given"
+        exit 1
+    fi
+    print_info "Merging reports from: $*"
+    mvn -q test-compile exec:java -Dexec.classpathScope=test \
+        -Dexec.mainClass=com.example.support.sharding.ReportMerger \
+        -Dexec.args="target/cucumber-reports $*"
+    print_success "Merged reports written to target/cucumber-reports/"
+}
+
 # Function to generate reports
 generate_reports() {
+    if [ -n "$SHARD" ]; then
+        print_info "Skipping report generation for a single shard; merge the shard reports instead"
+        return
+    fi
     print_info "Generating comprehensive reports..."
     mvn verify
     print_success "Reports generated successfully"
@@ -114,8 +139,15 @@ run_security_tests() {
     print_success "Security tests completed"
 }
 
+# Optional --shard i/N after the option
+COMMAND=$1
+SHARD=""
+if [ "$2" = "--shard" ]; then
+    SHARD=$3
+fi
+
 # Main script logic
-case "$1" in
+case "$COMMAND" in
     sanity)
         run_tests "@sanity" "Sanity Tests"
         generate_reports
@@ -128,6 +160,9 @@ case "$1" in
         run_tests "@regression or @sanity or @smoke" "Full Regression Suite"
         generate_reports
         ;;
+    performance)
+        run_tests "@performance" "Performance Tests"
+        ;;
     all)
         run_tests "" "All Tests"
         generate_reports
@@ -138,6 +173,10 @@ case "$1" in
     security)
         run_security_tests
         ;;
+    merge)
+        shift
+        merge_reports "$@"
+        ;;
     clean)
         clean_target
         ;;
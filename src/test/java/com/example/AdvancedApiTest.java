@@ -1,5 +1,14 @@
 package com.example;
 
+import com.example.support.ApiConfig;
+import com.example.support.PlaywrightManager;
+import com.example.support.baseline.LatencyComparison;
+import com.example.support.baseline.PerformanceGate;
+import com.example.support.batch.BatchResult;
+import com.example.support.batch.RequestBatch;
+import com.example.support.http.ApiRequest;
+import com.example.support.http.JdkHttpApiClient;
+import com.example.support.load.LatencyHistogram;
 import com.microsoft.playwright.*;
 import com.microsoft.playwright.options.RequestOptions;
 import org.junit.jupiter.api.*;
@@ -19,7 +28,7 @@ public class AdvancedApiTest {
 
     @BeforeAll
     static void beforeAll() {
-        playwright = Playwright.create();
+        playwright = PlaywrightManager.create();
 
         // Create API request context with custom headers
         Map<String, String> headers = new HashMap<>();
@@ -27,7 +36,7 @@ public class AdvancedApiTest {
         headers.put("User-Agent", "Playwright-Java");
 
         request = playwright.request().newContext(new APIRequest.NewContextOptions()
-                .setBaseURL("https://jsonplaceholder.typicode.com")
+                .setBaseURL(ApiConfig.baseUrl())
                 .setExtraHTTPHeaders(headers));
     }
 
@@ -161,19 +170,51 @@ public class AdvancedApiTest {
     }
 
     @Test
-    @DisplayName("Measure response time")
-    void testResponseTime() {
-        long startTime = System.currentTimeMillis();
-
-        APIResponse response = request.get("/users");
+    @DisplayName("Send independent requests concurrently in a batch")
+    void testBatchedRequests() {
+        // The update and the comments do not depend on the create, so only the author lookup waits for it
+        RequestBatch batch = RequestBatch.builder()
+                .request("create", ApiRequest.of("POST", "/posts")
+                        .withJsonBody("{ \"title\": \"Batch Test\", \"body\": \"Test body\", \"userId\": 1 }"))
+                .request("update", ApiRequest.of("PUT", "/posts/1")
+                        .withJsonBody("{ \"title\": \"Updated Batch Test\", \"body\": \"Updated body\", \"userId\": 1 }"))
+                .request("comments", ApiRequest.of("GET", "/posts/1/comments"))
+                .request("author", ApiRequest.of("GET", "/users/{{create.userId}}"))
+                .request("delete", ApiRequest.of("DELETE", "/posts/1"), "update")
+                .build();
+
+        BatchResult result = batch.execute(new JdkHttpApiClient(ApiConfig.baseUrl(), Map.of("Accept", "application/json")));
+
+        assertEquals(201, result.response("create").status());
+        assertTrue(result.response("update").text().contains("Updated Batch Test"));
+        assertEquals(200, result.response("comments").status());
+        assertTrue(result.response("author").text().contains("Leanne Graham"));
+        assertEquals(200, result.response("delete").status());
+        assertTrue(result.outcome("author").startNanos() >= result.outcome("create").endNanos(),
+                "The author lookup must wait for the post it reads the user id from");
+        assertTrue(result.outcome("delete").startNanos() >= result.outcome("update").endNanos(),
+                "The delete must wait for the update");
+
+        System.out.println(result.summary());
+    }
 
-        long endTime = System.currentTimeMillis();
-        long responseTime = endTime - startTime;
+    @Test
+    @DisplayName("Measure response time against the latency baseline")
+    void testResponseTime() {
+        LatencyHistogram latencies = new LatencyHistogram();
+        for (int i = 0; i < 20; i++) {
+            long start = System.nanoTime();
+            APIResponse response = request.get("/users");
+            latencies.recordNanos(System.nanoTime() - start);
+            assertEquals(200, response.status());
+        }
 
-        assertEquals(200, response.status());
-        assertTrue(responseTime < 5000, "Response time should be less than 5 seconds");
+        LatencyComparison comparison = PerformanceGate.compareEndpoint("GET /users", latencies);
+        Assumptions.assumeTrue(comparison != null, "No latency baseline for GET /users against " + ApiConfig.target());
+        assertNotEquals(LatencyComparison.Verdict.REGRESSION, comparison.verdict(),
+                "GET /users is slower than its baseline: " + comparison.summary());
 
-        System.out.println("Response time: " + responseTime + "ms");
+        System.out.println("Response time: " + comparison.summary());
     }
 }
 
@@ -1,5 +1,7 @@
 package com.example;
 
+import com.example.support.ApiConfig;
+import com.example.support.PlaywrightManager;
 import com.microsoft.playwright.*;
 import com.microsoft.playwright.options.RequestOptions;
 import org.junit.jupiter.api.*;
@@ -12,9 +14,9 @@ public class ApiTest {
 
     @BeforeAll
     static void beforeAll() { // Setup Playwright and API request context
-        playwright = Playwright.create(); // Initialize Playwright
+        playwright = PlaywrightManager.create(); // Initialize Playwright
         request = playwright.request().newContext(new APIRequest.NewContextOptions() // Create a new API request context
-                .setBaseURL("https://jsonplaceholder.typicode.com")); // Set the base URL for the API
+                .setBaseURL(ApiConfig.baseUrl())); // Set the base URL for the API
     }
 
     @AfterAll
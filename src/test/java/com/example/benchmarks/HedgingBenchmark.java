@@ -0,0 +1,101 @@
+package com.example.benchmarks;
+
+import com.example.support.ThreadPools;
+import com.example.support.http.ApiClient;
+import com.example.support.http.ApiRequest;
+import com.example.support.http.JdkHttpApiClient;
+import com.example.support.http.PolicyApiClient;
+import com.example.support.http.RequestPolicy;
+import com.example.support.http.RequestPolicyStats;
+import com.microsoft.playwright.APIResponse;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what hedging does to tail latency against a server with a slow tail: 3% of its responses
+ * are delayed by 100 ms, the rest are immediate. Sample mode gives the latency percentiles with and
+ * without a p95 hedge; the request policy summary printed at the end shows the extra load it took.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HedgingBenchmark {
+    private static final double SLOW_FRACTION = 0.03;
+    private static final long SLOW_DELAY_MILLIS = 100;
+    private static final byte[] BODY = "{\"id\":1,\"name\":\"Leanne Graham\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"none", "hedge"})
+    String policy;
+
+    HttpServer server;
+    ExecutorService executor;
+    ApiClient client;
+
+    @Setup
+    public void start() throws IOException {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        executor = ThreadPools.newPerTaskExecutor("slow-tail-server");
+        server.createContext("/", exchange -> {
+            try (exchange) {
+                if (ThreadLocalRandom.current().nextDouble() < SLOW_FRACTION) {
+                    TimeUnit.MILLISECONDS.sleep(SLOW_DELAY_MILLIS);
+                }
+                exchange.sendResponseHeaders(200, BODY.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(BODY);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        server.setExecutor(executor);
+        server.start();
+
+        JdkHttpApiClient jdk = new JdkHttpApiClient("http://127.0.0.1:" + server.getAddress().getPort(), Map.of());
+        RequestPolicy requestPolicy = "hedge".equals(policy)
+                ? RequestPolicy.configured().withHedging(95)
+                : RequestPolicy.configured();
+        client = new PolicyApiClient(jdk, jdk, () -> requestPolicy);
+    }
+
+    @TearDown
+    public void stop() {
+        System.out.println(RequestPolicyStats.summary());
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public int getUser() {
+        APIResponse response = client.send(ApiRequest.of("GET", "/users/1"));
+        try {
+            return response.body().length;
+        } finally {
+            response.dispose();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(HedgingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.benchmarks;
+
+import com.example.support.PlaywrightManager;
+import com.example.support.http.ApiClient;
+import com.example.support.http.ApiRequest;
+import com.example.support.http.HttpEngine;
+import com.example.support.http.JdkHttpApiClient;
+import com.example.support.http.PlaywrightApiClient;
+import com.example.support.stub.JsonPlaceholderServer;
+import com.microsoft.playwright.APIRequest;
+import com.microsoft.playwright.APIRequestContext;
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.Playwright;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the two HTTP engines the steps can use, with four threads sending requests against the
+ * local JSONPlaceholder stand-in as parallel scenarios would. Throughput mode gives requests per
+ * second; sample mode gives the latency distribution. With the Playwright engine each thread owns a
+ * Playwright and so a driver process; the JDK engine threads share one HttpClient.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class HttpEngineBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Endpoint {
+        @Param({"PLAYWRIGHT", "JDK"})
+        HttpEngine engine;
+
+        JsonPlaceholderServer server;
+
+        @Setup
+        public void start() {
+            server = JsonPlaceholderServer.start(0);
+        }
+
+        @TearDown
+        public void stop() {
+            server.stop();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+        Playwright playwright;
+        APIRequestContext context;
+        ApiClient client;
+
+        @Setup
+        public void open(Endpoint endpoint) {
+            Map<String, String> headers = Map.of("Content-Type", "application/json");
+            if (endpoint.engine == HttpEngine.JDK) {
+                client = new JdkHttpApiClient(endpoint.server.baseUrl(), headers);
+            } else {
+                playwright = PlaywrightManager.create();
+                context = playwright.request().newContext(new APIRequest.NewContextOptions()
+                        .setBaseURL(endpoint.server.baseUrl())
+                        .setExtraHTTPHeaders(headers));
+                client = new PlaywrightApiClient(context);
+            }
+        }
+
+        @TearDown
+        public void close() {
+            if (playwright != null) {
+                context.dispose();
+                playwright.close();
+            }
+        }
+    }
+
+    @Benchmark
+    public byte[] getSinglePost(Client client) {
+        return roundTrip(client, ApiRequest.of("GET", "/posts/1"));
+    }
+
+    @Benchmark
+    public byte[] createPost(Client client) {
+        return roundTrip(client, ApiRequest.of("POST", "/posts")
+                .withJsonBody("{\"title\":\"Test Post Title\",\"body\":\"Test body\",\"userId\":1}"));
+    }
+
+    private static byte[] roundTrip(Client client, ApiRequest request) {
+        APIResponse response = client.client.send(request);
+        try {
+            return response.body();
+        } finally {
+            response.dispose();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(HttpEngineBenchmark.class.getSimpleName()).build()).run();
+    }
+}
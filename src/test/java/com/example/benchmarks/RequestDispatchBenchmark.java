@@ -0,0 +1,99 @@
+package com.example.benchmarks;
+
+import com.example.support.PlaywrightManager;
+import com.example.support.http.ApiRequest;
+import com.example.support.http.JsonPayloads;
+import com.example.support.http.PlaywrightApiClient;
+import com.example.support.stub.JsonPlaceholderServer;
+import com.microsoft.playwright.APIRequest;
+import com.microsoft.playwright.APIRequestContext;
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.Playwright;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trips against the local JSONPlaceholder stand-in through the same client the steps use,
+ * so the numbers cover request building, the Playwright driver hop and reading the body, without
+ * any network in between. Each benchmark thread gets its own Playwright, as Playwright for Java
+ * is not thread-safe.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestDispatchBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Endpoint {
+        JsonPlaceholderServer server;
+
+        @Setup
+        public void start() {
+            server = JsonPlaceholderServer.start(0);
+        }
+
+        @TearDown
+        public void stop() {
+            server.stop();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+        Playwright playwright;
+        APIRequestContext context;
+        PlaywrightApiClient client;
+        String postBody;
+
+        @Setup
+        public void open(Endpoint endpoint) {
+            playwright = PlaywrightManager.create();
+            context = playwright.request().newContext(new APIRequest.NewContextOptions()
+                    .setBaseURL(endpoint.server.baseUrl())
+                    .setExtraHTTPHeaders(Map.of("Content-Type", "application/json")));
+            client = new PlaywrightApiClient(context);
+            postBody = JsonPayloads.fromTable(Map.of("title", "Test Post Title", "body", "Test body", "userId", "1"));
+        }
+
+        @TearDown
+        public void close() {
+            context.dispose();
+            playwright.close();
+        }
+    }
+
+    @Benchmark
+    public byte[] getSinglePost(Client client) {
+        return roundTrip(client, ApiRequest.of("GET", "/posts/1"));
+    }
+
+    @Benchmark
+    public byte[] getFilteredPosts(Client client) {
+        return roundTrip(client, ApiRequest.of("GET", "/posts?userId=1"));
+    }
+
+    @Benchmark
+    public byte[] createPost(Client client) {
+        return roundTrip(client, ApiRequest.of("POST", "/posts").withJsonBody(client.postBody));
+    }
+
+    private static byte[] roundTrip(Client client, ApiRequest request) {
+        APIResponse response = client.client.send(request);
+        try {
+            return response.body();
+        } finally {
+            response.dispose();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RequestDispatchBenchmark.class.getSimpleName()).build()).run();
+    }
+}
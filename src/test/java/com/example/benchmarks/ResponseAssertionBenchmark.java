@@ -0,0 +1,88 @@
+package com.example.benchmarks;
+
+import com.example.support.json.JsonAssertions;
+import com.example.support.json.JsonPath;
+import com.example.support.stub.JsonPlaceholderServer;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the ways the Then steps check a response body: decoding it to a string and searching
+ * it, parsing it into a Gson tree, and streaming over the bytes with a compiled JSON path.
+ * The bodies are the ones the local stub serves for /posts?userId=1 and /posts/1.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseAssertionBenchmark {
+    private byte[] postsForUser;
+    private byte[] singlePost;
+
+    @Setup
+    public void setUp() throws IOException, InterruptedException {
+        JsonPlaceholderServer server = JsonPlaceholderServer.start(0);
+        try {
+            HttpClient client = HttpClient.newHttpClient();
+            postsForUser = fetch(client, server.baseUrl() + "/posts?userId=1");
+            singlePost = fetch(client, server.baseUrl() + "/posts/1");
+        } finally {
+            server.stop();
+        }
+    }
+
+    private static byte[] fetch(HttpClient client, String url) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(URI.create(url)).build(), HttpResponse.BodyHandlers.ofByteArray()).body();
+    }
+
+    @Benchmark
+    public boolean everyElementViaTextContains() {
+        String text = new String(postsForUser, StandardCharsets.UTF_8);
+        return text.contains("\"userId\": 1");
+    }
+
+    @Benchmark
+    public boolean everyElementViaTreeParse() {
+        for (JsonElement post : JsonParser.parseString(new String(postsForUser, StandardCharsets.UTF_8)).getAsJsonArray()) {
+            if (post.getAsJsonObject().get("userId").getAsInt() != 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Benchmark
+    public byte[] everyElementViaStreamingPath() {
+        JsonAssertions.assertEveryElement(postsForUser, "$.userId", "1");
+        return postsForUser;
+    }
+
+    @Benchmark
+    public String singleValueViaTreeParse() {
+        return JsonParser.parseString(new String(singlePost, StandardCharsets.UTF_8)).getAsJsonObject().get("title").getAsString();
+    }
+
+    @Benchmark
+    public List<String> singleValueViaStreamingPath() {
+        return JsonPath.compile("$.title").evaluate(singlePost);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ResponseAssertionBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.benchmarks;
+
+import com.example.support.json.JsonSchema;
+import com.example.support.json.JsonSchemas;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the compiled, streaming schema validator with parsing the body into a tree and
+ * interpreting the raw schema against it, for a single post and for the 100-post list.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SchemaValidationBenchmark {
+    private JsonSchema compiled;
+    private JsonObject rawSchema;
+    private byte[] singlePost;
+    private byte[] postList;
+
+    @Setup
+    public void setUp() throws IOException {
+        compiled = JsonSchemas.get("post.json");
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("schemas/post.json")) {
+            rawSchema = JsonParser.parseReader(new InputStreamReader(in, StandardCharsets.UTF_8)).getAsJsonObject();
+        }
+        JsonArray posts = new JsonArray();
+        for (int id = 1; id <= 100; id++) {
+            JsonObject post = new JsonObject();
+            post.addProperty("userId", (id - 1) / 10 + 1);
+            post.addProperty("id", id);
+            post.addProperty("title", "post " + id + " title");
+            post.addProperty("body", "body of post " + id + " with a few more words to make it realistic");
+            posts.add(post);
+        }
+        singlePost = posts.get(0).toString().getBytes(StandardCharsets.UTF_8);
+        postList = posts.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<String> compiledStreamingSinglePost() {
+        return compiled.validate(singlePost);
+    }
+
+    @Benchmark
+    public List<String> naiveParseThenValidateSinglePost() {
+        List<String> errors = new ArrayList<>();
+        NaiveValidator.validate(JsonParser.parseString(new String(singlePost, StandardCharsets.UTF_8)), rawSchema, errors);
+        return errors;
+    }
+
+    @Benchmark
+    public List<String> compiledStreamingPostList() {
+        return compiled.validateEachElement(postList);
+    }
+
+    @Benchmark
+    public List<String> naiveParseThenValidatePostList() {
+        List<String> errors = new ArrayList<>();
+        for (JsonElement post : JsonParser.parseString(new String(postList, StandardCharsets.UTF_8)).getAsJsonArray()) {
+            NaiveValidator.validate(post, rawSchema, errors);
+        }
+        return errors;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SchemaValidationBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * The baseline: walks a fully parsed tree and re-reads the schema JSON for every value.
+     */
+    static final class NaiveValidator {
+
+        static void validate(JsonElement value, JsonObject schema, List<String> errors) {
+            if (schema.has("type") && !hasType(value, schema.get("type").getAsString())) {
+                errors.add(value + " is not " + schema.get("type").getAsString());
+                return;
+            }
+            if (value.isJsonObject()) {
+                JsonObject object = value.getAsJsonObject();
+                if (schema.has("required")) {
+                    for (JsonElement required : schema.getAsJsonArray("required")) {
+                        if (!object.has(required.getAsString())) {
+                            errors.add("missing " + required.getAsString());
+                        }
+                    }
+                }
+                if (schema.has("properties")) {
+                    for (Map.Entry<String, JsonElement> property : schema.getAsJsonObject("properties").entrySet()) {
+                        if (object.has(property.getKey())) {
+                            validate(object.get(property.getKey()), property.getValue().getAsJsonObject(), errors);
+                        }
+                    }
+                }
+            } else if (value.isJsonPrimitive()) {
+                if (schema.has("minimum") && value.getAsDouble() < schema.get("minimum").getAsDouble()) {
+                    errors.add(value + " is below the minimum");
+                }
+                if (schema.has("minLength") && value.getAsString().length() < schema.get("minLength").getAsInt()) {
+                    errors.add(value + " is too short");
+                }
+            }
+        }
+
+        private static boolean hasType(JsonElement value, String type) {
+            switch (type) {
+                case "object":
+                    return value.isJsonObject();
+                case "array":
+                    return value.isJsonArray();
+                case "string":
+                    return value.isJsonPrimitive() && value.getAsJsonPrimitive().isString();
+                case "integer":
+                    return value.isJsonPrimitive() && value.getAsJsonPrimitive().isNumber()
+                            && value.getAsDouble() == Math.rint(value.getAsDouble());
+                case "number":
+                    return value.isJsonPrimitive() && value.getAsJsonPrimitive().isNumber();
+                default:
+                    return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.benchmarks;
+
+import com.example.support.http.JsonPayloads;
+import com.google.gson.Gson;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how the step definitions turn their inputs into request bodies: the data-table steps
+ * and the formatted update body in AdvancedApiStepDefinitions, each in its previous form and in
+ * the form the steps use now.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StepPayloadBenchmark {
+    private final Gson gson = new Gson();
+    private Map<String, String> table;
+    private String title;
+
+    @Setup
+    public void setUp() {
+        table = new LinkedHashMap<>();
+        table.put("title", "Test Post Title");
+        table.put("body", "This is a test post body content");
+        table.put("userId", "1");
+        title = "Updated Title";
+    }
+
+    /**
+     * The original data-table step: copy the table into a new map, converting id fields, then
+     * hand the map to Gson.
+     */
+    @Benchmark
+    public String dataTableViaIntermediateMap() {
+        Map<String, Object> requestData = new HashMap<>();
+        table.forEach((key, value) -> {
+            if ("userId".equals(key) || "id".equals(key)) {
+                requestData.put(key, Integer.parseInt(value));
+            } else {
+                requestData.put(key, value);
+            }
+        });
+        return gson.toJson(requestData);
+    }
+
+    @Benchmark
+    public String dataTableViaJsonWriter() {
+        return JsonPayloads.fromTable(table);
+    }
+
+    @Benchmark
+    public String updateBodyViaStringFormat() {
+        return String.format("{ \"title\": \"%s\", \"body\": \"updated body\", \"userId\": 1 }", title);
+    }
+
+    @Benchmark
+    public String updateBodyViaMapSerialization() {
+        Map<String, Object> updateData = new HashMap<>();
+        updateData.put("title", title);
+        updateData.put("body", "updated body");
+        updateData.put("userId", 1);
+        return gson.toJson(updateData);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(StepPayloadBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -7,18 +7,28 @@ import org.junit.platform.suite.api.Suite;
 
 import static io.cucumber.junit.platform.engine.Constants.PLUGIN_PROPERTY_NAME;
 import static io.cucumber.junit.platform.engine.Constants.GLUE_PROPERTY_NAME;
-import static io.cucumber.junit.platform.engine.Constants.FILTER_TAGS_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.PARALLEL_EXECUTION_ENABLED_PROPERTY_NAME;
 
 /**
  * Playwright API Test Runner
  * Runs only Playwright-based API tests using Cucumber BDD framework
+ * Scenarios run in parallel; the strategy (dynamic or fixed) is taken from the
+ * cucumber.execution.parallel.config.* system properties set in the pom
+ * Tags come from the cucumber.filter.tags system property (default "@sanity or @test"
+ * in the pom), so -Dcucumber.filter.tags selects other scenarios
+ * MetricsPlugin writes Prometheus and OpenMetrics files to target/metrics at the end of the run
+ * ScenarioHistoryPlugin keeps the per-scenario history that -Dcucumber.order uses
+ * StreamingReportPlugin appends each finished scenario to target/cucumber-reports/events.ndjson
+ * PerformanceGatePlugin records scenario durations for the latency baseline check in Hooks.afterAll
  */
 @Suite
 @IncludeEngines("cucumber")
 @SelectClasspathResource("features")
-@ConfigurationParameter(key = PLUGIN_PROPERTY_NAME, value = "pretty,html:target/cucumber-reports/report.html,json:target/cucumber-reports/report.json,junit:target/cucumber-reports/report.xml")
+@ConfigurationParameter(key = PLUGIN_PROPERTY_NAME, value = "pretty,html:target/cucumber-reports/report.html,json:target/cucumber-reports/report.json,junit:target/cucumber-reports/report.xml,com.example.support.metrics.MetricsPlugin:target/metrics,com.example.support.ordering.ScenarioHistoryPlugin,com.example.support.report.StreamingReportPlugin:target/cucumber-reports,com.example.support.baseline.PerformanceGatePlugin")
 @ConfigurationParameter(key = GLUE_PROPERTY_NAME, value = "com.example.steps")
-@ConfigurationParameter(key = FILTER_TAGS_PROPERTY_NAME, value = "@sanity or @test")
+@ConfigurationParameter(key = PARALLEL_EXECUTION_ENABLED_PROPERTY_NAME, value = "true")
+// Load scenarios measure latency, so they must not overlap with each other
+@ConfigurationParameter(key = "cucumber.execution.exclusive-resources.performance.read-write", value = "LOAD_GENERATOR")
 
 public class CucumberTestRunner {
     // This class runs only Playwright API tests
@@ -1,7 +1,14 @@
 package com.example.steps;
 
+import com.example.support.ScenarioContext;
+import com.example.support.batch.BatchResult;
+import com.example.support.batch.RequestBatch;
+import com.example.support.http.ApiRequest;
+import com.example.support.http.ResponseStore.Retention;
+import com.example.support.http.StoredResponse;
+import com.example.support.json.JsonAssertions;
 import com.microsoft.playwright.APIResponse;
-import com.microsoft.playwright.options.RequestOptions;
+import io.cucumber.datatable.DataTable;
 import io.cucumber.java.en.*;
 
 import java.util.HashMap;
@@ -11,9 +18,13 @@ import static org.junit.jupiter.api.Assertions.*;
 
 public class AdvancedApiStepDefinitions {
 
-    private Map<String, APIResponse> responseStorage = new HashMap<>();
+    private final ScenarioContext context;
     private boolean allOperationsSuccessful = true;
 
+    public AdvancedApiStepDefinitions(ScenarioContext context) {
+        this.context = context;
+    }
+
     @Given("I create a post with title {string} and body {string}")
     public void i_create_a_post_with_title_and_body(String title, String body) {
         Map<String, Object> data = new HashMap<>();
@@ -21,36 +32,35 @@ public class AdvancedApiStepDefinitions {
         data.put("body", body);
         data.put("userId", 1);
 
-        APIResponse response = ApiStepDefinitions.request.post("/posts", RequestOptions.create().setData(data));
-        responseStorage.put("createPost", response);
+        APIResponse response = context.send("POST", "/posts", data);
+        StoredResponse stored = context.store("createPost", response, Retention.SUMMARY);
 
-        if (response.status() != 201) {
+        if (stored.status() != 201) {
             allOperationsSuccessful = false;
         }
     }
 
     @When("I update the post with id {string} with title {string}")
     public void i_update_the_post_with_id_with_title(String postId, String newTitle) {
-        String updateData = String.format("{ \"title\": \"%s\", \"body\": \"updated body\", \"userId\": 1 }", newTitle);
-
-        APIResponse response = ApiStepDefinitions.request.put("/posts/" + postId,
-                RequestOptions.create()
-                        .setHeader("Content-Type", "application/json")
-                        .setData(updateData));
+        Map<String, Object> updateData = new HashMap<>();
+        updateData.put("title", newTitle);
+        updateData.put("body", "updated body");
+        updateData.put("userId", 1);
 
-        responseStorage.put("updatePost", response);
+        APIResponse response = context.send("PUT", "/posts/" + postId, updateData);
+        StoredResponse stored = context.store("updatePost", response, Retention.SUMMARY);
 
-        if (response.status() != 200) {
+        if (stored.status() != 200) {
             allOperationsSuccessful = false;
         }
     }
 
     @When("I delete the post with id {string}")
     public void i_delete_the_post_with_id(String postId) {
-        APIResponse response = ApiStepDefinitions.request.delete("/posts/" + postId);
-        responseStorage.put("deletePost", response);
+        APIResponse response = context.send(ApiRequest.of("DELETE", "/posts/" + postId));
+        StoredResponse stored = context.store("deletePost", response, Retention.SUMMARY);
 
-        if (response.status() != 200) {
+        if (stored.status() != 200) {
             allOperationsSuccessful = false;
         }
     }
@@ -60,8 +70,46 @@ public class AdvancedApiStepDefinitions {
         assertTrue(allOperationsSuccessful, "Not all sequential operations were successful");
 
         // Verify each stored response
-        responseStorage.forEach((operation, response) -> {
-            assertTrue(response.ok(), operation + " was not successful");
+        context.getResponseStore().forEach((operation, stored) -> {
+            assertTrue(stored.ok(), operation + " was not successful");
         });
     }
+
+    /**
+     * Sends the table's requests as one batch. Columns: name, method, path, an optional JSON body
+     * and an optional comma-separated list of requests to run after. Paths and bodies may refer to
+     * earlier responses with {{name.field}}.
+     */
+    @When("I send these requests as a batch:")
+    public void i_send_these_requests_as_a_batch(DataTable table) {
+        RequestBatch.Builder batch = RequestBatch.builder();
+        for (Map<String, String> row : table.asMaps()) {
+            ApiRequest request = ApiRequest.of(row.get("method"), row.get("path"));
+            String body = row.get("body");
+            if (body != null && !body.isBlank()) {
+                request = request.withJsonBody(body);
+            }
+            String after = row.get("after");
+            batch.request(row.get("name"), request, after == null || after.isBlank() ? new String[0] : after.split("\\s*,\\s*"));
+        }
+        context.sendBatch(batch.build());
+    }
+
+    @Then("every request in the batch should succeed")
+    public void every_request_in_the_batch_should_succeed() {
+        BatchResult batch = context.getLastBatch();
+        assertNotNull(batch, "No batch was sent");
+        batch.outcomes().forEach((name, outcome) ->
+                assertTrue(outcome.sent() && outcome.response().ok(), "Batch request " + name + " failed:\n" + batch.summary()));
+    }
+
+    @Then("batch request {string} should have status {int}")
+    public void batch_request_should_have_status(String name, int status) {
+        assertEquals(status, context.getLastBatch().response(name).status(), "Unexpected status for batch request " + name);
+    }
+
+    @Then("the JSON value at {string} of batch request {string} should be {string}")
+    public void the_json_value_at_of_batch_request_should_be(String path, String name, String expectedValue) {
+        JsonAssertions.assertValue(context.getLastBatch().response(name).body(), path, expectedValue);
+    }
 }
@@ -0,0 +1,48 @@
+package com.example.steps;
+
+import com.example.support.ScenarioContext;
+import com.example.support.data.DataSetResult;
+import com.example.support.data.DataSetRunner;
+import com.example.support.data.RowTemplate;
+import io.cucumber.java.After;
+import io.cucumber.java.Scenario;
+import io.cucumber.java.en.*;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DataSetStepDefinitions {
+    private final ScenarioContext context;
+    private DataSetResult dataSetResult;
+
+    public DataSetStepDefinitions(ScenarioContext context) {
+        this.context = context;
+    }
+
+    @When("I stream the rows of {string} through:")
+    public void i_stream_the_rows_of_through(String dataSet, Map<String, String> table) {
+        RowTemplate template = RowTemplate.fromTable(table);
+        dataSetResult = new DataSetRunner(context.concurrentClient()).run(dataSet, template);
+    }
+
+    @Then("every data set row should pass")
+    public void every_data_set_row_should_pass() {
+        assertNotNull(dataSetResult, "No data set has been run");
+        assertEquals(0, dataSetResult.failed(), dataSetResult.summary());
+    }
+
+    @Then("the data set should have at least {int} rows")
+    public void the_data_set_should_have_at_least_rows(int rows) {
+        assertNotNull(dataSetResult, "No data set has been run");
+        assertTrue(dataSetResult.rows() >= rows, dataSetResult.summary());
+    }
+
+    @After
+    public void reportDataSet(Scenario scenario) {
+        if (dataSetResult != null) {
+            // One report entry for the whole data set, however many rows it had
+            scenario.log(dataSetResult.summary());
+        }
+    }
+}
@@ -1,19 +1,68 @@
 package com.example.steps;
 
+import com.example.support.ApiConfig;
+import com.example.support.ApiContextPool;
+import com.example.support.PlaywrightManager;
+import com.example.support.baseline.PerformanceGate;
+import com.example.support.http.Cassette;
+import com.example.support.http.RequestPolicyStats;
+import com.example.support.http.ResponseCache;
+import com.example.support.ordering.FailFast;
+import com.example.support.timing.FlightRecording;
+import com.example.support.timing.RequestTimings;
+import io.cucumber.java.After;
 import io.cucumber.java.AfterAll;
+import io.cucumber.java.Before;
 import io.cucumber.java.BeforeAll;
+import io.cucumber.java.Scenario;
+import org.opentest4j.TestAbortedException;
 
 public class Hooks {
 
     @BeforeAll
     public static void beforeAll() {
         System.out.println("Starting Cucumber BDD API Tests with Playwright");
+        FlightRecording.startIfEnabled();
+    }
+
+    // Runs before every other hook, so an aborted scenario does no setup work
+    @Before(order = 0)
+    public void failFast() {
+        FailFast.checkBeforeScenario();
+    }
+
+    // Endpoints that only the local stub serves; against another target the scenario is reported as skipped
+    @Before(value = "@local-only", order = 1)
+    public void localOnly() {
+        if (!ApiConfig.LOCAL.equals(ApiConfig.target())) {
+            throw new TestAbortedException("Skipped: @local-only scenario needs the local stub, not " + ApiConfig.target());
+        }
+    }
+
+    @After
+    public void countFailure(Scenario scenario) {
+        if (scenario.isFailed()) {
+            FailFast.recordFailure();
+        }
     }
 
     @AfterAll
     public static void afterAll() {
         System.out.println("Cucumber BDD API Tests completed");
-        // Close Playwright instance
-        ApiStepDefinitions.closePlaywright();
+        System.out.println(PlaywrightManager.startupSummary());
+        System.out.println(ApiContextPool.summary());
+        System.out.println(RequestTimings.summary());
+        if (RequestPolicyStats.requests() > 0) {
+            System.out.println(RequestPolicyStats.summary());
+        }
+        if (ResponseCache.sharedSummary() != null) {
+            System.out.println(ResponseCache.sharedSummary());
+        }
+        Cassette.closeShared();
+        // Close the Playwright instance of every worker thread
+        PlaywrightManager.closeAll();
+        FlightRecording.stopAndDump();
+        // Last, so a latency regression fails the run only after everything has been cleaned up
+        PerformanceGate.run();
     }
 }
@@ -0,0 +1,86 @@
+package com.example.steps;
+
+import com.example.support.ScenarioContext;
+import com.example.support.load.LoadEngine;
+import com.example.support.load.LoadResult;
+import io.cucumber.java.After;
+import io.cucumber.java.Scenario;
+import io.cucumber.java.en.*;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoadStepDefinitions {
+    private static final Duration SOAK_WINDOW = Duration.ofNanos(
+            Math.round(Double.parseDouble(System.getProperty("load.soak.windowSeconds", "10")) * 1e9));
+    private static final boolean SOAK_PROGRESS = Boolean.getBoolean("load.soak.progress");
+
+    private final ScenarioContext context;
+    private LoadResult loadResult;
+    private String loadReport;
+    private final List<String> soakWindows = Collections.synchronizedList(new ArrayList<>());
+
+    public LoadStepDefinitions(ScenarioContext context) {
+        this.context = context;
+    }
+
+    @When("I send {int} GET requests to {string} with concurrency {int}")
+    public void i_send_get_requests_to_with_concurrency(int requests, String endpoint, int concurrency) {
+        LoadEngine engine = new LoadEngine(context.getBaseUrl(), context.getHeaders());
+        loadResult = engine.run("GET", endpoint, requests, concurrency);
+        loadReport = "Load result " + loadResult;
+    }
+
+    @When("I run a soak test of GET requests to {string} at {int} requests per second for {int} {word}")
+    public void i_run_a_soak_test(String endpoint, int ratePerSecond, int amount, String unit) {
+        // "second", "seconds", "minute", "minutes", "hours", ...
+        String unitName = unit.toUpperCase(Locale.ROOT);
+        Duration duration = Duration.of(amount, ChronoUnit.valueOf(unitName.endsWith("S") ? unitName : unitName + "S"));
+        LoadEngine engine = new LoadEngine(context.getBaseUrl(), context.getHeaders());
+        loadResult = engine.runAtFixedRate("GET", endpoint, ratePerSecond, duration, SOAK_WINDOW, line -> {
+            soakWindows.add(line);
+            if (SOAK_PROGRESS) {
+                // Live progress for long runs; it interleaves with the output of other scenarios
+                System.out.println(line);
+            }
+        });
+        loadReport = "Soak result " + loadResult;
+    }
+
+    @After
+    public void reportLoad(Scenario scenario) {
+        if (!soakWindows.isEmpty()) {
+            scenario.log(String.join(System.lineSeparator(), soakWindows));
+        }
+        if (loadReport != null) {
+            scenario.log(loadReport);
+        }
+    }
+
+    @Then("the p{int} latency should be below {int} ms and throughput above {int} rps")
+    public void the_latency_should_be_below_and_throughput_above(int percentile, int maxLatency, int minThroughput) {
+        the_latency_should_be_below(percentile, maxLatency);
+        assertTrue(loadResult.throughputPerSecond() > minThroughput,
+                String.format("Throughput %.0f rps is not above %d rps", loadResult.throughputPerSecond(), minThroughput));
+    }
+
+    @Then("the p{int} latency should be below {int} ms")
+    public void the_latency_should_be_below(int percentile, int maxLatency) {
+        assertNotNull(loadResult, "No load test has been run");
+        double latency = loadResult.latencies().percentileMillis(percentile);
+        assertTrue(latency < maxLatency,
+                String.format("p%d latency %.2fms exceeded maximum of %dms", percentile, latency, maxLatency));
+    }
+
+    @Then("all load test requests should be successful")
+    public void all_load_test_requests_should_be_successful() {
+        assertNotNull(loadResult, "No load test has been run");
+        assertEquals(0, loadResult.failures(), "Failed load test requests: " + loadResult);
+    }
+}
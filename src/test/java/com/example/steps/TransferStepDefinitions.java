@@ -0,0 +1,120 @@
+package com.example.steps;
+
+import com.example.support.ScenarioContext;
+import com.example.support.http.FileTransfers;
+import com.example.support.http.TransferResult;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import io.cucumber.java.After;
+import io.cucumber.java.Scenario;
+import io.cucumber.java.en.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransferStepDefinitions {
+    private static final Path TRANSFER_DIR = Path.of(System.getProperty("api.transfer.dir", "target/transfers"));
+    private static final long MEGABYTE = 1_000_000L;
+
+    private final ScenarioContext context;
+    private final List<Path> files = new ArrayList<>();
+    private final List<TransferResult> transfers = new ArrayList<>();
+    private TransferResult lastTransfer;
+
+    public TransferStepDefinitions(ScenarioContext context) {
+        this.context = context;
+    }
+
+    @Given("a file {string} of {int} MB")
+    public void a_file_of_mb(String name, int megabytes) {
+        FileTransfers.createFile(file(name), megabytes * MEGABYTE);
+    }
+
+    @When("I upload the file {string} to {string}")
+    public void i_upload_the_file_to(String name, String path) {
+        record(transfers().upload("POST", path, file(name), "application/octet-stream"));
+    }
+
+    @When("I upload the file {string} to {string} as the multipart field {string}")
+    public void i_upload_the_file_as_multipart(String name, String path, String field) {
+        record(transfers().uploadMultipart("POST", path, field, file(name), "application/octet-stream"));
+    }
+
+    @When("I download {string} to the file {string}")
+    public void i_download_to_the_file(String path, String name) {
+        record(transfers().download(path, file(name)));
+    }
+
+    @Then("the transfer status should be {int}")
+    public void the_transfer_status_should_be(int status) {
+        assertEquals(status, lastTransfer().status(), lastTransfer.summary());
+    }
+
+    @Then("the server should have received every byte of the upload")
+    public void the_server_should_have_received_every_byte() {
+        JsonObject received = JsonParser.parseString(lastTransfer().responseBody()).getAsJsonObject();
+        assertEquals(lastTransfer.bytes(), received.get("bytes").getAsLong(), "Bytes received by the server");
+        assertEquals(lastTransfer.sha256(), received.get("sha256").getAsString(), "SHA-256 of the body the server received");
+    }
+
+    @Then("the downloaded file should be {int} MB with the checksum from the {string} header")
+    public void the_downloaded_file_should_match(int megabytes, String header) {
+        TransferResult download = lastTransfer();
+        assertEquals(megabytes * MEGABYTE, download.bytes(), "Bytes received");
+        try {
+            assertEquals(download.bytes(), Files.size(download.file()), "Bytes written to " + download.file());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        String expected = download.headers().firstValue(header).orElse(null);
+        assertNotNull(expected, "No " + header + " header in the response");
+        assertEquals(expected, download.sha256(), "SHA-256 of the downloaded body");
+    }
+
+    @Then("the transfer rate should be at least {int} MB\\/s")
+    public void the_transfer_rate_should_be_at_least(int megabytesPerSecond) {
+        assertTrue(lastTransfer().megabytesPerSecond() >= megabytesPerSecond, lastTransfer.summary());
+    }
+
+    @After
+    public void reportTransfers(Scenario scenario) {
+        transfers.forEach(transfer -> scenario.log(transfer.summary()));
+        // Payload files can be gigabytes, so none outlives its scenario
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                System.err.println("Could not delete " + file + ": " + e);
+            }
+        }
+    }
+
+    private FileTransfers transfers() {
+        assertNotNull(context.getBaseUrl(), "No API has been set up for this scenario");
+        return new FileTransfers(context.getBaseUrl(), context.getHeaders());
+    }
+
+    private void record(TransferResult transfer) {
+        lastTransfer = transfer;
+        transfers.add(transfer);
+    }
+
+    private TransferResult lastTransfer() {
+        assertNotNull(lastTransfer, "No file has been transferred");
+        return lastTransfer;
+    }
+
+    private Path file(String name) {
+        Path file = TRANSFER_DIR.resolve(name);
+        if (!files.contains(file)) {
+            files.add(file);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.support;
+
+import com.example.support.stub.JsonPlaceholderServer;
+
+/**
+ * Resolves the base URL that the feature files and JUnit tests run against.
+ * Set the {@code api.base.url} system property to a real URL such as
+ * https://jsonplaceholder.typicode.com, or leave it at {@code local} to start the
+ * embedded JSONPlaceholder stand-in and run without network access.
+ */
+public final class ApiConfig {
+    public static final String BASE_URL_PROPERTY = "api.base.url";
+    public static final String LOCAL = "local";
+
+    private ApiConfig() {
+    }
+
+    public static String baseUrl() {
+        String baseUrl = System.getProperty(BASE_URL_PROPERTY, LOCAL).trim();
+        if (baseUrl.isEmpty() || LOCAL.equalsIgnoreCase(baseUrl)) {
+            return JsonPlaceholderServer.shared().baseUrl();
+        }
+        return baseUrl;
+    }
+
+    /**
+     * What the tests run against, for keeping measurements of different targets apart:
+     * {@code local} for the embedded server, otherwise the configured base URL.
+     */
+    public static String target() {
+        String baseUrl = System.getProperty(BASE_URL_PROPERTY, LOCAL).trim();
+        return baseUrl.isEmpty() || LOCAL.equalsIgnoreCase(baseUrl) ? LOCAL : baseUrl;
+    }
+}
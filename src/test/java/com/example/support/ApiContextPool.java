@@ -0,0 +1,124 @@
+package com.example.support;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonParser;
+import com.microsoft.playwright.APIRequest;
+import com.microsoft.playwright.APIRequestContext;
+import com.microsoft.playwright.Playwright;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reuses APIRequestContexts across scenarios instead of creating and disposing one per scenario.
+ * Contexts are keyed by base URL plus extra HTTP headers. A context belongs to the Playwright
+ * instance that created it, so there is one pool per worker thread, bound to the thread's
+ * Playwright from {@link PlaywrightManager}.
+ *
+ * APIRequestContext has no way to clear its cookie jar, so a context that picked up cookies
+ * during a scenario is disposed on release rather than handed to the next scenario. The jar is
+ * only read, which is a round trip to the driver, when a response may have set a cookie.
+ * Contexts left idle for longer than {@code api.pool.idleTimeoutMillis} are disposed as well.
+ */
+public final class ApiContextPool {
+    private static final long IDLE_TIMEOUT_MILLIS = Long.getLong("api.pool.idleTimeoutMillis", 60_000L);
+
+    private static final AtomicLong CREATED = new AtomicLong();
+    private static final AtomicLong LEASES = new AtomicLong();
+    private static final AtomicLong REUSED = new AtomicLong();
+    private static final AtomicLong EVICTED = new AtomicLong();
+    private static final ThreadLocal<ApiContextPool> POOLS =
+            ThreadLocal.withInitial(() -> new ApiContextPool(PlaywrightManager.current()));
+
+    private final Playwright playwright;
+    private final Map<Key, Deque<IdleContext>> idle = new HashMap<>();
+    private final Map<APIRequestContext, Key> leased = new IdentityHashMap<>();
+
+    private ApiContextPool(Playwright playwright) {
+        this.playwright = playwright;
+    }
+
+    public static ApiContextPool current() {
+        return POOLS.get();
+    }
+
+    public APIRequestContext lease(String baseUrl, Map<String, String> headers) {
+        evictIdle();
+        Key key = new Key(baseUrl, new TreeMap<>(headers));
+        LEASES.incrementAndGet();
+
+        Deque<IdleContext> available = idle.get(key);
+        APIRequestContext context;
+        if (available != null && !available.isEmpty()) {
+            context = available.pop().context;
+            REUSED.incrementAndGet();
+        } else {
+            APIRequest.NewContextOptions options = new APIRequest.NewContextOptions().setBaseURL(baseUrl);
+            if (!headers.isEmpty()) {
+                options.setExtraHTTPHeaders(headers);
+            }
+            context = playwright.request().newContext(options);
+            CREATED.incrementAndGet();
+        }
+        leased.put(context, key);
+        return context;
+    }
+
+    /**
+     * Returns a leased context to the pool. {@code mayHaveSetCookies} is false when none of the
+     * responses received through the lease could have added a cookie to its jar.
+     */
+    public void release(APIRequestContext context, boolean mayHaveSetCookies) {
+        Key key = leased.remove(context);
+        if (key == null) {
+            context.dispose();
+            return;
+        }
+        if (mayHaveSetCookies && hasCookies(context)) {
+            // Cookies cannot be cleared from an APIRequestContext, so it cannot be handed out again
+            context.dispose();
+            EVICTED.incrementAndGet();
+            return;
+        }
+        idle.computeIfAbsent(key, k -> new ArrayDeque<>()).push(new IdleContext(context, System.currentTimeMillis()));
+        evictIdle();
+    }
+
+    private static boolean hasCookies(APIRequestContext context) {
+        JsonArray cookies = JsonParser.parseString(context.storageState()).getAsJsonObject().getAsJsonArray("cookies");
+        return cookies != null && !cookies.isEmpty();
+    }
+
+    private void evictIdle() {
+        long cutoff = System.currentTimeMillis() - IDLE_TIMEOUT_MILLIS;
+        for (Deque<IdleContext> contexts : idle.values()) {
+            Iterator<IdleContext> iterator = contexts.descendingIterator();
+            while (iterator.hasNext()) {
+                IdleContext candidate = iterator.next();
+                if (candidate.releasedAt >= cutoff) {
+                    break;
+                }
+                iterator.remove();
+                candidate.context.dispose();
+                EVICTED.incrementAndGet();
+            }
+        }
+    }
+
+    public static String summary() {
+        return String.format("API context pool: %d leases, %d contexts created, %d leases reused a warm context, %d contexts evicted",
+                LEASES.get(), CREATED.get(), REUSED.get(), EVICTED.get());
+    }
+
+    private record Key(String baseUrl, Map<String, String> headers) {
+    }
+
+    private record IdleContext(APIRequestContext context, long releasedAt) {
+    }
+}
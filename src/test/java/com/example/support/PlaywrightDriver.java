@@ -0,0 +1,103 @@
+package com.example.support;
+
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.impl.driver.Driver;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+
+/**
+ * Shares one extracted copy of the Playwright driver between test JVMs.
+ * Without it every JVM, including each surefire fork, unpacks the Node driver (over 100 MB) from the
+ * driver-bundle jar into a fresh temp directory and checks the browser installation before its first
+ * Playwright starts. The first JVM that finds no shared copy unpacks the driver once into
+ * {@code playwright.driver.cacheDir} (~/.cache/playwright-java/driver-&lt;version&gt;) and renames it into
+ * place atomically. Every JVM then points {@code playwright.cli.dir} at that copy, so Playwright uses
+ * it as a preinstalled driver without unpacking or installing anything. Browsers are never installed,
+ * because the tests only use the API request context. Set {@code -Dplaywright.driver.shared=false}
+ * to go back to Playwright's default behaviour.
+ */
+final class PlaywrightDriver {
+    private static final String CLI_DIR_PROPERTY = "playwright.cli.dir";
+    private static final Map<String, String> SKIP_BROWSER_DOWNLOAD = Map.of("PLAYWRIGHT_SKIP_BROWSER_DOWNLOAD", "1");
+
+    private static boolean prepared;
+    private static String preparation = "not needed";
+
+    private PlaywrightDriver() {
+    }
+
+    /**
+     * Environment for the driver process: browser downloads are skipped, whichever driver is used.
+     */
+    static Map<String, String> environment() {
+        return SKIP_BROWSER_DOWNLOAD;
+    }
+
+    /**
+     * Makes sure {@code playwright.cli.dir} points at a shared, already extracted driver. Runs once per JVM.
+     */
+    static synchronized void prepare() {
+        if (prepared) {
+            return;
+        }
+        prepared = true;
+        long start = System.nanoTime();
+        if (System.getProperty(CLI_DIR_PROPERTY) != null) {
+            preparation = "using preinstalled driver " + System.getProperty(CLI_DIR_PROPERTY);
+            return;
+        }
+        String version = Playwright.class.getPackage().getImplementationVersion();
+        if (!Boolean.parseBoolean(System.getProperty("playwright.driver.shared", "true")) || version == null) {
+            preparation = "shared driver disabled, each JVM unpacks its own";
+            return;
+        }
+        Path shared = Path.of(System.getProperty("playwright.driver.cacheDir",
+                Path.of(System.getProperty("user.home"), ".cache", "playwright-java", "driver-" + version).toString()));
+        boolean reused = Files.isRegularFile(shared.resolve("package").resolve("cli.js"));
+        if (!reused) {
+            extractTo(shared);
+        }
+        System.setProperty(CLI_DIR_PROPERTY, shared.toString());
+        preparation = String.format("%s shared driver %s in %.1f ms", reused ? "reused" : "unpacked",
+                shared, (System.nanoTime() - start) / 1e6);
+    }
+
+    static synchronized String summary() {
+        return "Playwright driver: " + preparation;
+    }
+
+    private static void extractTo(Path shared) {
+        try {
+            Files.createDirectories(shared.getParent());
+            // Unpack next to the target so the final rename stays on one file system
+            String previousTmpDir = System.getProperty("playwright.driver.tmpdir");
+            System.setProperty("playwright.driver.tmpdir", shared.getParent().toString());
+            Path unpacked;
+            try {
+                unpacked = Driver.createAndInstall(SKIP_BROWSER_DOWNLOAD, false).driverDir();
+            } finally {
+                if (previousTmpDir == null) {
+                    System.clearProperty("playwright.driver.tmpdir");
+                } else {
+                    System.setProperty("playwright.driver.tmpdir", previousTmpDir);
+                }
+            }
+            try {
+                Files.move(unpacked, shared, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                // Another JVM renamed its copy into place first: use that one.
+                // The unpacked files were registered for deletion when this JVM exits.
+                if (!Files.isRegularFile(shared.resolve("package").resolve("cli.js"))) {
+                    throw e;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not prepare the shared Playwright driver in " + shared, e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.support;
+
+import com.example.support.load.LatencyHistogram;
+import com.microsoft.playwright.Playwright;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out one Playwright instance per worker thread.
+ * Playwright for Java is not thread-safe, so scenarios running in parallel must never
+ * share an instance. Each thread lazily creates its own on first use, and all of them
+ * are closed together once the test run has finished.
+ */
+public final class PlaywrightManager {
+    private static final Set<Playwright> INSTANCES = ConcurrentHashMap.newKeySet();
+    private static final ThreadLocal<Playwright> CURRENT = new ThreadLocal<>();
+    private static final LatencyHistogram STARTUP = new LatencyHistogram();
+
+    private PlaywrightManager() {
+    }
+
+    public static Playwright current() {
+        Playwright playwright = CURRENT.get();
+        if (playwright == null) {
+            playwright = create();
+            CURRENT.set(playwright);
+            INSTANCES.add(playwright);
+        }
+        return playwright;
+    }
+
+    /**
+     * Starts a Playwright that the caller owns and closes, using the shared driver and skipping
+     * browser downloads. The time to start it is included in {@link #startupSummary()}.
+     */
+    public static Playwright create() {
+        long start = System.nanoTime();
+        PlaywrightDriver.prepare();
+        Playwright playwright = Playwright.create(new Playwright.CreateOptions().setEnv(PlaywrightDriver.environment()));
+        STARTUP.recordNanos(System.nanoTime() - start);
+        return playwright;
+    }
+
+    public static String startupSummary() {
+        if (STARTUP.count() == 0) {
+            return "Playwright startup: no instances were started";
+        }
+        return PlaywrightDriver.summary() + System.lineSeparator()
+                + String.format("Playwright startup: %d instances, min %.1f ms, mean %.1f ms, max %.1f ms",
+                STARTUP.count(), STARTUP.minMicros() / 1000.0, STARTUP.meanMicros() / 1000.0,
+                STARTUP.maxMicros() / 1000.0);
+    }
+
+    public static void closeAll() {
+        for (Playwright playwright : INSTANCES) {
+            playwright.close();
+        }
+        INSTANCES.clear();
+    }
+}
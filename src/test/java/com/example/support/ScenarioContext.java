@@ -0,0 +1,340 @@
+package com.example.support;
+
+import com.example.support.batch.BatchResult;
+import com.example.support.batch.RequestBatch;
+import com.example.support.http.ApiClient;
+import com.example.support.http.ApiRequest;
+import com.example.support.http.CachedResponse;
+import com.example.support.http.CachingApiClient;
+import com.example.support.http.Cassette;
+import com.example.support.http.CassetteApiClient;
+import com.example.support.http.HttpEngine;
+import com.example.support.http.JdkHttpApiClient;
+import com.example.support.http.PlaywrightApiClient;
+import com.example.support.http.PolicyApiClient;
+import com.example.support.http.ReplayedResponse;
+import com.example.support.http.RequestPolicy;
+import com.example.support.http.ResponseCache;
+import com.example.support.http.ResponseStore;
+import com.example.support.http.StoredResponse;
+import com.example.support.metrics.HttpMetrics;
+import com.example.support.timing.HttpCallEvent;
+import com.example.support.timing.Phase;
+import com.example.support.timing.RequestTimings;
+import com.example.support.timing.TimedResponse;
+import com.microsoft.playwright.APIResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * State shared by the step definition classes for a single scenario.
+ * PicoContainer creates a fresh instance per scenario and injects it into every
+ * step class, so scenarios running in parallel never see each other's requests
+ * or responses.
+ */
+public class ScenarioContext {
+    private static final boolean LAZY_CLIENT = Boolean.parseBoolean(System.getProperty("api.client.lazy", "true"));
+
+    private final List<APIResponse> responses = new ArrayList<>();
+    private final ResponseStore responseStore = new ResponseStore();
+    private final ResponseCache.Counters cacheCounters = new ResponseCache.Counters();
+    private String baseUrl;
+    private Map<String, String> headers = Map.of();
+    private HttpEngine engine = HttpEngine.configured();
+    private boolean cacheable = true;
+    private RequestPolicy policy = RequestPolicy.configured();
+    private PlaywrightApiClient playwrightClient;
+    private ApiClient client;
+    private APIResponse lastResponse;
+    private long lastResponseNanos;
+    private BatchResult lastBatch;
+
+    /**
+     * Opens a client for the given base URL and headers for the rest of the scenario. With the Playwright
+     * engine this leases a pooled request context; the JDK engine shares one in-process HttpClient.
+     * Unless {@code api.client.lazy} is false, the client is only opened when the first request is sent,
+     * so scenarios that never send one never start a Playwright driver.
+     */
+    public void openRequest(String baseUrl, Map<String, String> headers) {
+        releaseRequest();
+        this.baseUrl = baseUrl;
+        this.headers = Map.copyOf(headers);
+        if (!LAZY_CLIENT) {
+            client();
+        }
+    }
+
+    private ApiClient client() {
+        if (client == null) {
+            assertNotNull(baseUrl, "No API has been set up for this scenario");
+            if (engine == HttpEngine.JDK) {
+                JdkHttpApiClient jdk = new JdkHttpApiClient(baseUrl, headers);
+                client = decorate(jdk, jdk);
+            } else {
+                playwrightClient = new PlaywrightApiClient(ApiContextPool.current().lease(baseUrl, headers));
+                client = decorate(playwrightClient, new JdkHttpApiClient(baseUrl, headers));
+            }
+        }
+        return client;
+    }
+
+    /**
+     * Adds the request policy, and the cassette and response cache when they are enabled, around an engine's
+     * client. The concurrent client is the one the policy sends hedged attempts through.
+     */
+    private ApiClient decorate(ApiClient engineClient, ApiClient concurrentClient) {
+        ApiClient decorated = new PolicyApiClient(engineClient, concurrentClient, this::getPolicy);
+        Cassette cassette = Cassette.shared();
+        if (cassette != null) {
+            decorated = new CassetteApiClient(decorated, cassette);
+        }
+        ResponseCache cache = ResponseCache.shared();
+        if (cache != null && cacheable) {
+            decorated = new CachingApiClient(decorated, cache, baseUrl, headers, cacheCounters);
+        }
+        return decorated;
+    }
+
+    /**
+     * Selects the engine used by the next {@link #openRequest}.
+     */
+    public void setEngine(HttpEngine engine) {
+        this.engine = engine;
+    }
+
+    public HttpEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Sets how hard requests are tried from now on, including on a client that is already open.
+     */
+    public void setPolicy(RequestPolicy policy) {
+        this.policy = policy;
+    }
+
+    public RequestPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Whether the next {@link #openRequest} may answer GETs from the shared response cache, if it is enabled.
+     */
+    public void setCacheable(boolean cacheable) {
+        this.cacheable = cacheable;
+    }
+
+    /**
+     * How this scenario's requests were answered by the response cache.
+     */
+    public ResponseCache.Counters getCacheCounters() {
+        return cacheCounters;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Sends a request with a JSON body, given either as a JSON string or as an object to serialise.
+     * Building the request is timed as the serialisation phase of the endpoint.
+     */
+    public APIResponse send(String method, String path, Object body) {
+        long start = System.nanoTime();
+        ApiRequest apiRequest = body instanceof String json
+                ? ApiRequest.of(method, path).withJsonBody(json)
+                : ApiRequest.of(method, path).withJsonBody(body);
+        long serializationNanos = System.nanoTime() - start;
+        RequestTimings.record(RequestTimings.endpointOf(method, path), Phase.SERIALIZATION, serializationNanos);
+        return send(apiRequest, serializationNanos);
+    }
+
+    /**
+     * Sends a request through the scenario's client. Every HTTP call made by the steps goes through here,
+     * and each one is timed per endpoint with the monotonic nanosecond clock and counted by status code.
+     * While a Flight Recorder recording is running, each call is also emitted as an {@link HttpCallEvent}.
+     */
+    public APIResponse send(ApiRequest apiRequest) {
+        return send(apiRequest, 0);
+    }
+
+    private APIResponse send(ApiRequest apiRequest, long serializationNanos) {
+        // Opened before the clock starts, so a lazily started driver does not count as request time
+        ApiClient client = client();
+        String endpoint = RequestTimings.endpointOf(apiRequest.method(), apiRequest.path());
+        HttpCallEvent event = HttpCallEvent.beginIfEnabled(apiRequest, endpoint, serializationNanos);
+        long start = System.nanoTime();
+        APIResponse response;
+        try {
+            response = client.send(apiRequest);
+        } catch (RuntimeException e) {
+            HttpMetrics.record(endpoint, HttpMetrics.ERROR);
+            throw e;
+        }
+        lastResponseNanos = System.nanoTime() - start;
+        if (event != null) {
+            event.end();
+        }
+        if (!servedFromMemory(response)) {
+            RequestTimings.record(endpoint, Phase.RESPONSE, lastResponseNanos);
+        }
+        HttpMetrics.record(endpoint, response.status());
+        return track(new TimedResponse(response, endpoint, event));
+    }
+
+    /**
+     * Sends a batch of requests, each as soon as the requests it depends on have completed. Batches go
+     * through {@link #concurrentClient()}.
+     */
+    public BatchResult sendBatch(RequestBatch batch) {
+        lastBatch = batch.execute(concurrentClient());
+        return lastBatch;
+    }
+
+    /**
+     * A client for this scenario's API that may be called from several threads at once. Whatever the
+     * scenario's engine it goes through the JDK HttpClient, since a Playwright instance must only be used
+     * by the thread that created it. Each call is counted and emitted as an {@link HttpCallEvent} like one
+     * sent with {@link #send}, and timed as {@link Phase#CONCURRENT_RESPONSE}, which the performance gate
+     * leaves out. Responses are not tracked as the last response.
+     */
+    public ApiClient concurrentClient() {
+        assertNotNull(baseUrl, "No API has been set up for this scenario");
+        JdkHttpApiClient jdk = new JdkHttpApiClient(baseUrl, headers);
+        ApiClient client = decorate(jdk, jdk);
+        return apiRequest -> {
+            String endpoint = RequestTimings.endpointOf(apiRequest.method(), apiRequest.path());
+            HttpCallEvent event = HttpCallEvent.beginIfEnabled(apiRequest, endpoint, 0);
+            long start = System.nanoTime();
+            APIResponse response;
+            try {
+                response = client.send(apiRequest);
+            } catch (RuntimeException e) {
+                HttpMetrics.record(endpoint, HttpMetrics.ERROR);
+                throw e;
+            }
+            long nanos = System.nanoTime() - start;
+            if (event != null) {
+                event.end();
+                // The JDK client has already read the whole body into memory
+                event.commit(response.status(), response.body().length);
+            }
+            if (!servedFromMemory(response)) {
+                RequestTimings.record(endpoint, Phase.CONCURRENT_RESPONSE, nanos);
+            }
+            HttpMetrics.record(endpoint, response.status());
+            return response;
+        };
+    }
+
+    // Cache hits and cassette replays never reach the server and would drag the endpoint's latency down
+    private static boolean servedFromMemory(APIResponse response) {
+        return response instanceof CachedResponse || response instanceof ReplayedResponse;
+    }
+
+    public BatchResult getLastBatch() {
+        return lastBatch;
+    }
+
+    /**
+     * Runs assertions against the last response and times them as the assertion phase of its endpoint.
+     * Body reads made by the assertions are counted as body read time, not assertion time.
+     */
+    public void verifyLastResponse(Consumer<APIResponse> assertions) {
+        APIResponse response = lastResponse;
+        assertNotNull(response, "No response received");
+        TimedResponse timed = (TimedResponse) response;
+        long bodyReadBefore = timed.bodyReadNanos();
+        long start = System.nanoTime();
+        try {
+            assertions.accept(response);
+        } finally {
+            timed.recordAssertion(System.nanoTime() - start - (timed.bodyReadNanos() - bodyReadBefore));
+        }
+    }
+
+    /**
+     * Keeps track of a response so its body can be released when the scenario ends.
+     */
+    private APIResponse track(APIResponse response) {
+        responses.add(response);
+        return response;
+    }
+
+    /**
+     * Keeps a summary of the response under the given name and disposes it straight away.
+     * The response must not be used after this; read the returned summary instead.
+     */
+    public StoredResponse store(String name, APIResponse response, ResponseStore.Retention retention) {
+        responses.remove(response);
+        if (lastResponse == response) {
+            lastResponse = null;
+        }
+        return responseStore.put(name, response, retention);
+    }
+
+    /**
+     * Disposes a response the steps are done with, instead of keeping it until the scenario ends.
+     * The response must not be used after this.
+     */
+    public void discard(APIResponse response) {
+        responses.remove(response);
+        if (lastResponse == response) {
+            lastResponse = null;
+        }
+        response.dispose();
+    }
+
+    public ResponseStore getResponseStore() {
+        return responseStore;
+    }
+
+    public APIResponse getLastResponse() {
+        return lastResponse;
+    }
+
+    public void setLastResponse(APIResponse response) {
+        this.lastResponse = response;
+    }
+
+    /**
+     * The normalised endpoint of the most recent response, such as GET /users/{id}.
+     */
+    public String getLastEndpoint() {
+        return lastResponse instanceof TimedResponse timed ? timed.endpoint() : null;
+    }
+
+    /**
+     * Time taken by the most recent request, in nanoseconds.
+     */
+    public long getLastResponseNanos() {
+        return lastResponseNanos;
+    }
+
+    public void dispose() {
+        releaseRequest();
+        lastResponse = null;
+        lastBatch = null;
+        responseStore.clear();
+    }
+
+    private void releaseRequest() {
+        // Pooled contexts outlive the scenario, so response bodies have to be released explicitly
+        responses.forEach(APIResponse::dispose);
+        responses.clear();
+        if (playwrightClient != null) {
+            ApiContextPool.current().release(playwrightClient.context(), playwrightClient.mayHaveSetCookies());
+            playwrightClient = null;
+        }
+        client = null;
+    }
+}
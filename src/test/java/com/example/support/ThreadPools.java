@@ -0,0 +1,37 @@
+package com.example.support;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors for blocking, I/O-bound work such as serving or sending HTTP requests.
+ * On JDK 21+ every task gets its own virtual thread. The build still targets Java 17,
+ * so the virtual-thread executor is looked up reflectively and an unbounded pool of
+ * daemon platform threads is used when it is not available.
+ */
+public final class ThreadPools {
+
+    private ThreadPools() {
+    }
+
+    public static ExecutorService newPerTaskExecutor(String name) {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(daemonThreads(name));
+        }
+    }
+
+    public static ThreadFactory daemonThreads(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
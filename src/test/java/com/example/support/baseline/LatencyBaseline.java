@@ -0,0 +1,140 @@
+package com.example.support.baseline;
+
+import com.example.support.load.LatencyHistogram;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latency distributions to compare later runs with, stored as a tab-separated file that is committed
+ * with the tests. Each line holds a {@link Key} and the non-empty buckets of its
+ * {@link LatencyHistogram} as {@code index:count} pairs, so a distribution takes a few hundred bytes
+ * however many samples it has:
+ * <pre>
+ * local	endpoint	GET /users/{id}	1023	1012:4,1013:17,...
+ * </pre>
+ */
+public final class LatencyBaseline {
+    private static final String HEADER = "# target\tkind\tname\tsamples\tbucket:count,...";
+
+    /**
+     * What a distribution measures: the target it ran against ({@code local} or a base URL), whether it
+     * is a scenario's duration or an endpoint's response time, and the scenario or endpoint.
+     */
+    public record Key(String target, String kind, String name) implements Comparable<Key> {
+        public static final String SCENARIO = "scenario";
+        public static final String ENDPOINT = "endpoint";
+
+        @Override
+        public int compareTo(Key other) {
+            int byTarget = target.compareTo(other.target);
+            if (byTarget != 0) {
+                return byTarget;
+            }
+            int byKind = kind.compareTo(other.kind);
+            return byKind != 0 ? byKind : name.compareTo(other.name);
+        }
+
+        @Override
+        public String toString() {
+            return kind + " " + name;
+        }
+    }
+
+    private LatencyBaseline() {
+    }
+
+    public static Path defaultFile() {
+        return Path.of(System.getProperty("perf.baseline.file", "perf/latency-baseline.tsv"));
+    }
+
+    /**
+     * The stored distributions, or none if the file does not exist.
+     */
+    public static Map<Key, LatencyHistogram> read(Path file) {
+        Map<Key, LatencyHistogram> baseline = new TreeMap<>();
+        if (!Files.isRegularFile(file)) {
+            return baseline;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split("\t");
+                if (fields.length != 5) {
+                    throw new IllegalArgumentException("Malformed baseline line in " + file + ": " + line);
+                }
+                long[] buckets = new long[LatencyHistogram.BUCKET_COUNT];
+                for (String pair : fields[4].split(",")) {
+                    int colon = pair.indexOf(':');
+                    buckets[Integer.parseInt(pair.substring(0, colon))] = Long.parseLong(pair.substring(colon + 1));
+                }
+                LatencyHistogram histogram = new LatencyHistogram();
+                histogram.addBucketCounts(buckets);
+                baseline.put(new Key(fields[0], fields[1], fields[2]), histogram);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read latency baseline " + file, e);
+        }
+        return baseline;
+    }
+
+    /**
+     * Replaces the stored distributions of the given keys, or adds the measurements to them if
+     * {@code append} is set, and keeps the others, so a run of a few scenarios only updates those.
+     */
+    public static void update(Path file, Map<Key, LatencyHistogram> measured, boolean append) {
+        Map<Key, LatencyHistogram> baseline = read(file);
+        measured.forEach((key, histogram) -> {
+            LatencyHistogram stored = baseline.get(key);
+            if (append && stored != null) {
+                stored.add(histogram);
+            } else {
+                baseline.put(key, histogram);
+            }
+        });
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                out.write(HEADER);
+                out.newLine();
+                for (Map.Entry<Key, LatencyHistogram> entry : baseline.entrySet()) {
+                    if (entry.getValue().count() == 0) {
+                        continue;
+                    }
+                    Key key = entry.getKey();
+                    out.write(key.target() + "\t" + key.kind() + "\t" + key.name() + "\t" + entry.getValue().count() + "\t"
+                            + buckets(entry.getValue()));
+                    out.newLine();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write latency baseline " + file, e);
+        }
+    }
+
+    private static String buckets(LatencyHistogram histogram) {
+        long[] counts = histogram.bucketCounts();
+        StringBuilder buckets = new StringBuilder();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                if (buckets.length() > 0) {
+                    buckets.append(',');
+                }
+                buckets.append(i).append(':').append(counts[i]);
+            }
+        }
+        return buckets.toString();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.support.baseline;
+
+import com.example.support.load.LatencyHistogram;
+
+/**
+ * The result of comparing a run's latency distribution with its baseline. Two things must both hold
+ * for a {@link Verdict#REGRESSION}:
+ * <ul>
+ *   <li>the Mann-Whitney U test finds the run slower with a one-sided p-value below {@code alpha},
+ *   which works on whole distributions without assuming their shape;</li>
+ *   <li>the chosen percentile moved up by more than {@code maxShift} (a fraction of the baseline) and
+ *   by more than {@code minShiftMillis}, so a significant but negligible change does not fail.</li>
+ * </ul>
+ * Both use histogram buckets as their unit, so values within the same bucket count as ties.
+ */
+public record LatencyComparison(Verdict verdict, long samples, long baselineSamples, double percentile,
+                                double millis, double baselineMillis, double probabilitySlower, double pValue) {
+
+    public enum Verdict {
+        REGRESSION, FASTER, UNCHANGED, TOO_FEW_SAMPLES
+    }
+
+    /**
+     * Thresholds for a comparison, read from the {@code perf.gate.*} system properties.
+     */
+    public record Thresholds(double alpha, double percentile, double maxShift, double minShiftMillis, int minSamples) {
+
+        public static Thresholds configured() {
+            return new Thresholds(
+                    Double.parseDouble(System.getProperty("perf.gate.alpha", "0.01")),
+                    Double.parseDouble(System.getProperty("perf.gate.percentile", "90")),
+                    Double.parseDouble(System.getProperty("perf.gate.maxShift", "0.5")),
+                    Double.parseDouble(System.getProperty("perf.gate.minShiftMillis", "5")),
+                    Integer.getInteger("perf.gate.minSamples", 5));
+        }
+    }
+
+    public static LatencyComparison compare(LatencyHistogram run, LatencyHistogram baseline, Thresholds thresholds) {
+        double millis = run.percentileMillis(thresholds.percentile());
+        double baselineMillis = baseline.percentileMillis(thresholds.percentile());
+        if (run.count() < thresholds.minSamples() || baseline.count() < thresholds.minSamples()) {
+            return new LatencyComparison(Verdict.TOO_FEW_SAMPLES, run.count(), baseline.count(), thresholds.percentile(),
+                    millis, baselineMillis, Double.NaN, Double.NaN);
+        }
+        long[] a = run.bucketCounts();
+        long[] b = baseline.bucketCounts();
+        double n1 = run.count();
+        double n2 = baseline.count();
+        double n = n1 + n2;
+        // U counts the (run, baseline) pairs in which the run's value is the larger, ties counting half
+        double u = 0;
+        double baselineBelow = 0;
+        double tieTerm = 0;
+        for (int i = 0; i < a.length; i++) {
+            u += a[i] * (baselineBelow + b[i] / 2.0);
+            baselineBelow += b[i];
+            double tied = a[i] + b[i];
+            tieTerm += tied * tied * tied - tied;
+        }
+        double mean = n1 * n2 / 2;
+        double variance = n1 * n2 / 12 * ((n + 1) - tieTerm / (n * (n - 1)));
+        double pSlower;
+        double pFaster;
+        if (variance <= 0) {
+            // Every value in one bucket: the distributions are indistinguishable
+            pSlower = 1;
+            pFaster = 1;
+        } else {
+            double sd = Math.sqrt(variance);
+            pSlower = normalCdf(-(u - mean - 0.5) / sd);
+            pFaster = normalCdf((u - mean + 0.5) / sd);
+        }
+        double shiftMillis = millis - baselineMillis;
+        double ratio = millis / Math.max(baselineMillis, 0.001);
+        Verdict verdict = Verdict.UNCHANGED;
+        if (pSlower < thresholds.alpha() && ratio > 1 + thresholds.maxShift() && shiftMillis > thresholds.minShiftMillis()) {
+            verdict = Verdict.REGRESSION;
+        } else if (pFaster < thresholds.alpha() && ratio * (1 + thresholds.maxShift()) < 1
+                && -shiftMillis > thresholds.minShiftMillis()) {
+            verdict = Verdict.FASTER;
+        }
+        return new LatencyComparison(verdict, run.count(), baseline.count(), thresholds.percentile(), millis,
+                baselineMillis, u / (n1 * n2), pSlower);
+    }
+
+    public String summary() {
+        String counts = String.format("p%s %.1f ms vs %.1f ms baseline (n=%d vs %d)",
+                formatPercentile(percentile), millis, baselineMillis, samples, baselineSamples);
+        if (verdict == Verdict.TOO_FEW_SAMPLES) {
+            return counts;
+        }
+        return String.format("%s, P(slower)=%.2f, p=%.3g", counts, probabilitySlower, pValue);
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? Long.toString((long) percentile) : Double.toString(percentile);
+    }
+
+    /**
+     * Standard normal CDF, from the complementary error function (Numerical Recipes' erfcc,
+     * accurate to about 1e-7).
+     */
+    static double normalCdf(double z) {
+        double x = -z / Math.sqrt(2);
+        double t = 1 / (1 + 0.5 * Math.abs(x));
+        double erfc = t * Math.exp(-x * x - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418
+                + t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587
+                + t * (-0.82215223 + t * 0.17087277)))))))));
+        return 0.5 * (x >= 0 ? erfc : 2 - erfc);
+    }
+}
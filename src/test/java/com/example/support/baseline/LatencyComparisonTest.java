@@ -0,0 +1,98 @@
+package com.example.support.baseline;
+
+import com.example.support.baseline.LatencyComparison.Thresholds;
+import com.example.support.baseline.LatencyComparison.Verdict;
+import com.example.support.load.LatencyHistogram;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the bucketed Mann-Whitney U comparison behind the performance gate.
+ */
+public class LatencyComparisonTest {
+    private static final Thresholds THRESHOLDS = new Thresholds(0.01, 90, 0.5, 5, 5);
+
+    private static LatencyHistogram histogram(long... micros) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value : micros) {
+            histogram.recordMicros(value);
+        }
+        return histogram;
+    }
+
+    /** {@code count} values spread evenly from {@code fromMillis} up to, but not including, {@code toMillis}. */
+    private static LatencyHistogram spread(int count, double fromMillis, double toMillis) {
+        long[] micros = new long[count];
+        for (int i = 0; i < count; i++) {
+            micros[i] = Math.round((fromMillis + (toMillis - fromMillis) * i / count) * 1000);
+        }
+        return histogram(micros);
+    }
+
+    @Test
+    void testIdenticalDistributionsAreUnchanged() {
+        LatencyComparison comparison = LatencyComparison.compare(spread(50, 10, 20), spread(50, 10, 20), THRESHOLDS);
+        assertEquals(Verdict.UNCHANGED, comparison.verdict());
+        assertEquals(0.5, comparison.probabilitySlower(), 1e-9);
+        assertTrue(comparison.pValue() > 0.4, comparison.summary());
+    }
+
+    @Test
+    void testShiftedDistributionIsRegression() {
+        LatencyComparison comparison = LatencyComparison.compare(spread(50, 30, 45), spread(50, 10, 20), THRESHOLDS);
+        assertEquals(Verdict.REGRESSION, comparison.verdict(), comparison.summary());
+        assertEquals(1.0, comparison.probabilitySlower(), 1e-9);
+        assertTrue(comparison.pValue() < 1e-10, comparison.summary());
+    }
+
+    @Test
+    void testShiftedDownDistributionIsFaster() {
+        LatencyComparison comparison = LatencyComparison.compare(spread(50, 10, 20), spread(50, 30, 45), THRESHOLDS);
+        assertEquals(Verdict.FASTER, comparison.verdict(), comparison.summary());
+        assertEquals(0.0, comparison.probabilitySlower(), 1e-9);
+    }
+
+    @Test
+    void testSignificantButNegligibleShiftIsUnchanged() {
+        // Every run value is slower, but the p90 moves by about 1 ms, under minShiftMillis
+        LatencyComparison comparison = LatencyComparison.compare(spread(50, 2, 3), spread(50, 1, 2), THRESHOLDS);
+        assertTrue(comparison.pValue() < THRESHOLDS.alpha(), comparison.summary());
+        assertEquals(Verdict.UNCHANGED, comparison.verdict(), comparison.summary());
+    }
+
+    @Test
+    void testAllValuesInOneBucketHaveNoVariance() {
+        // Every sample of both runs is tied, so the tie-corrected variance is 0
+        LatencyComparison comparison = LatencyComparison.compare(histogram(100, 100, 100, 100, 100, 100),
+                histogram(100, 100, 100, 100, 100), THRESHOLDS);
+        assertEquals(Verdict.UNCHANGED, comparison.verdict());
+        assertEquals(0.5, comparison.probabilitySlower(), 1e-9);
+        assertEquals(1.0, comparison.pValue());
+    }
+
+    @Test
+    void testPValueMatchesReference() {
+        // Values below 128 us get a bucket each, so these are exact. Reference: U = 82, tie-corrected
+        // variance 174.2105, continuity-corrected z = 2.386565, one-sided p = 0.5 * erfc(z / sqrt(2))
+        LatencyComparison comparison = LatencyComparison.compare(histogram(5, 6, 7, 8, 9, 10, 11, 12, 13, 14),
+                histogram(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), THRESHOLDS);
+        assertEquals(0.82, comparison.probabilitySlower(), 1e-9);
+        assertEquals(0.0085032889, comparison.pValue(), 1e-7);
+    }
+
+    @Test
+    void testNormalCdf() {
+        assertEquals(0.5, LatencyComparison.normalCdf(0), 1e-7);
+        assertEquals(0.975, LatencyComparison.normalCdf(1.959964), 1e-7);
+        assertEquals(0.025, LatencyComparison.normalCdf(-1.959964), 1e-7);
+        assertEquals(2.866516e-7, LatencyComparison.normalCdf(-5), 1e-10);
+    }
+
+    @Test
+    void testTooFewSamples() {
+        LatencyComparison comparison = LatencyComparison.compare(histogram(10, 20, 30), spread(50, 10, 20), THRESHOLDS);
+        assertEquals(Verdict.TOO_FEW_SAMPLES, comparison.verdict());
+        assertTrue(Double.isNaN(comparison.pValue()));
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.support.baseline;
+
+import com.example.support.ApiConfig;
+import com.example.support.baseline.LatencyBaseline.Key;
+import com.example.support.baseline.LatencyComparison.Thresholds;
+import com.example.support.baseline.LatencyComparison.Verdict;
+import com.example.support.load.LatencyHistogram;
+import com.example.support.timing.Phase;
+import com.example.support.timing.RequestTimings;
+
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compares the latencies of a run with the committed {@link LatencyBaseline} once all scenarios have
+ * finished: each passed scenario's duration, recorded by {@link PerformanceGatePlugin}, and each
+ * endpoint's response time. Requests sent concurrently by batches and data sets are timed separately
+ * and are not compared. What it does is set by {@code perf.baseline}:
+ * <ul>
+ *   <li>{@code check} (default): compare every distribution that is also in the baseline with
+ *   {@link LatencyComparison}, print the result, and fail the run if any regressed;</li>
+ *   <li>{@code update}: write this run's distributions into the baseline file instead;</li>
+ *   <li>{@code append}: add this run's measurements to those in the baseline file, to build a baseline
+ *   from several runs;</li>
+ *   <li>{@code off}: do nothing.</li>
+ * </ul>
+ * Only measurements against the same target are compared, so a baseline recorded against the local
+ * server says nothing about the real API.
+ */
+public final class PerformanceGate {
+    private static final Map<String, LatencyHistogram> SCENARIOS = new ConcurrentHashMap<>();
+
+    public enum Mode {
+        CHECK, UPDATE, APPEND, OFF;
+
+        public static Mode configured() {
+            return valueOf(System.getProperty("perf.baseline", "check").trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private PerformanceGate() {
+    }
+
+    public static void recordScenario(String name, long nanos) {
+        SCENARIOS.computeIfAbsent(name, n -> new LatencyHistogram()).recordNanos(nanos);
+    }
+
+    /**
+     * This run's distributions, keyed as they are in the baseline.
+     */
+    public static Map<Key, LatencyHistogram> measured() {
+        String target = ApiConfig.target();
+        Map<Key, LatencyHistogram> measured = new TreeMap<>();
+        SCENARIOS.forEach((name, histogram) -> measured.put(new Key(target, Key.SCENARIO, name), histogram));
+        RequestTimings.endpoints().forEach((endpoint, phases) -> {
+            LatencyHistogram response = phases.get(Phase.RESPONSE);
+            if (response.count() > 0) {
+                measured.put(new Key(target, Key.ENDPOINT, endpoint), response);
+            }
+        });
+        return measured;
+    }
+
+    /**
+     * Updates or checks the baseline, as {@code perf.baseline} says.
+     *
+     * @throws AssertionError if a distribution regressed
+     */
+    public static void run() {
+        Mode mode = Mode.configured();
+        Path file = LatencyBaseline.defaultFile();
+        switch (mode) {
+            case UPDATE:
+            case APPEND:
+                Map<Key, LatencyHistogram> measured = measured();
+                LatencyBaseline.update(file, measured, mode == Mode.APPEND);
+                System.out.println("Performance gate: " + (mode == Mode.APPEND ? "added" : "wrote") + " "
+                        + measured.size() + " latency distributions to " + file);
+                break;
+            case CHECK:
+                Report report = check(file);
+                System.out.println(report.text);
+                if (report.nothingTested) {
+                    System.err.println("WARNING: the performance gate tested nothing against " + file + ": no distribution of this run "
+                            + "had " + Thresholds.configured().minSamples() + " samples and a baseline to compare with."
+                            + " Run the @sanity scenario of latency_sampling.feature, or record a baseline for this target.");
+                }
+                if (report.regressions > 0) {
+                    throw new AssertionError(report.text);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Compares a distribution measured outside the Cucumber run, such as by a JUnit test, with the
+     * baseline of an endpoint against the current target.
+     *
+     * @return null if the gate is off or the baseline has no distribution for the endpoint
+     */
+    public static LatencyComparison compareEndpoint(String endpoint, LatencyHistogram measured) {
+        LatencyHistogram baseline = endpointBaseline(endpoint);
+        return baseline == null ? null : LatencyComparison.compare(measured, baseline, Thresholds.configured());
+    }
+
+    /**
+     * The slowest time a single response from the endpoint can take without being out of line with the
+     * baseline: its p99 widened by the gate's {@code maxShift} and {@code minShiftMillis}.
+     *
+     * @return the limit in milliseconds, or NaN if the gate is off or the baseline has no distribution
+     * for the endpoint
+     */
+    public static double singleResponseLimitMillis(String endpoint) {
+        LatencyHistogram baseline = endpointBaseline(endpoint);
+        if (baseline == null) {
+            return Double.NaN;
+        }
+        Thresholds thresholds = Thresholds.configured();
+        return baseline.percentileMillis(99) * (1 + thresholds.maxShift()) + thresholds.minShiftMillis();
+    }
+
+    /**
+     * The limit for a single response when {@link #singleResponseLimitMillis} has none, from
+     * {@code perf.gate.fallbackLimitMillis} (5000).
+     */
+    public static double fallbackLimitMillis() {
+        return Double.parseDouble(System.getProperty("perf.gate.fallbackLimitMillis", "5000"));
+    }
+
+    // With the gate off, the baseline file may well be from other hardware, so it is not used at all
+    private static LatencyHistogram endpointBaseline(String endpoint) {
+        if (Mode.configured() == Mode.OFF) {
+            return null;
+        }
+        return LatencyBaseline.read(LatencyBaseline.defaultFile()).get(new Key(ApiConfig.target(), Key.ENDPOINT, endpoint));
+    }
+
+    private record Report(String text, long regressions, boolean nothingTested) {
+    }
+
+    private static Report check(Path file) {
+        Map<Key, LatencyHistogram> baseline = LatencyBaseline.read(file);
+        if (baseline.isEmpty()) {
+            return new Report("Performance gate: no baseline at " + file + ", run with -Dperf.baseline=update to record one", 0, false);
+        }
+        Thresholds thresholds = Thresholds.configured();
+        Map<Verdict, Integer> verdicts = new EnumMap<>(Verdict.class);
+        StringBuilder lines = new StringBuilder();
+        int missing = 0;
+        for (Map.Entry<Key, LatencyHistogram> entry : measured().entrySet()) {
+            LatencyHistogram stored = baseline.get(entry.getKey());
+            if (stored == null) {
+                missing++;
+                continue;
+            }
+            LatencyComparison comparison = LatencyComparison.compare(entry.getValue(), stored, thresholds);
+            verdicts.merge(comparison.verdict(), 1, Integer::sum);
+            if (comparison.verdict() == Verdict.TOO_FEW_SAMPLES) {
+                continue;
+            }
+            lines.append(System.lineSeparator()).append(String.format("  %-15s %s: %s",
+                    comparison.verdict(), entry.getKey(), comparison.summary()));
+        }
+        int regressions = verdicts.getOrDefault(Verdict.REGRESSION, 0);
+        int tested = regressions + verdicts.getOrDefault(Verdict.FASTER, 0) + verdicts.getOrDefault(Verdict.UNCHANGED, 0);
+        String header = String.format("Performance gate against %s: %d regressed, %d faster, %d unchanged, "
+                        + "%d with too few samples, %d not in the baseline",
+                file, regressions, verdicts.getOrDefault(Verdict.FASTER, 0), verdicts.getOrDefault(Verdict.UNCHANGED, 0),
+                verdicts.getOrDefault(Verdict.TOO_FEW_SAMPLES, 0), missing);
+        return new Report(header + lines, regressions, tested == 0);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.support.baseline;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+
+/**
+ * Cucumber plugin that records the duration of every passed scenario for the {@link PerformanceGate},
+ * keyed by feature file and scenario name so that Scenario Outline rows add up to one distribution.
+ * Failed and skipped scenarios are left out: how long they took says nothing about the API.
+ */
+public class PerformanceGatePlugin implements ConcurrentEventListener {
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onScenarioFinished);
+    }
+
+    private void onScenarioFinished(TestCaseFinished event) {
+        if (event.getResult().getStatus() != Status.PASSED) {
+            return;
+        }
+        TestCase testCase = event.getTestCase();
+        String uri = testCase.getUri().toString();
+        PerformanceGate.recordScenario(uri.substring(uri.lastIndexOf('/') + 1) + ": " + testCase.getName(),
+                event.getResult().getDuration().toNanos());
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.support.batch;
+
+import com.example.support.http.ApiRequest;
+import com.example.support.http.BufferedResponse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * What happened to each request of a {@link RequestBatch}, with start and end times relative to the
+ * start of the batch. Compares the batch's wall time with the time the same requests take one after
+ * another (the sum of their durations) and with its critical path, the slowest chain of dependencies.
+ */
+public final class BatchResult {
+
+    /**
+     * One request's response, or the error that stopped it (including a failed dependency).
+     */
+    public record Outcome(String name, ApiRequest request, BufferedResponse response, Throwable error,
+                          long startNanos, long endNanos) {
+
+        static Outcome failed(String name, Throwable error) {
+            return new Outcome(name, null, null, error, 0, 0);
+        }
+
+        public boolean sent() {
+            return response != null;
+        }
+
+        public long durationNanos() {
+            return endNanos - startNanos;
+        }
+    }
+
+    private final Map<String, Outcome> outcomes;
+    private final Map<String, Set<String>> dependencies;
+    private final long wallNanos;
+
+    BatchResult(Map<String, Outcome> outcomes, Map<String, Set<String>> dependencies, long wallNanos) {
+        this.outcomes = Collections.unmodifiableMap(outcomes);
+        this.dependencies = dependencies;
+        this.wallNanos = wallNanos;
+    }
+
+    public Map<String, Outcome> outcomes() {
+        return outcomes;
+    }
+
+    public Outcome outcome(String name) {
+        Outcome outcome = outcomes.get(name);
+        if (outcome == null) {
+            throw new IllegalArgumentException("The batch has no request named '" + name + "'");
+        }
+        return outcome;
+    }
+
+    /**
+     * The named request's response; fails if the request was never sent.
+     */
+    public BufferedResponse response(String name) {
+        Outcome outcome = outcome(name);
+        if (!outcome.sent()) {
+            throw new IllegalStateException("Batch request '" + name + "' was not sent: " + outcome.error(), outcome.error());
+        }
+        return outcome.response();
+    }
+
+    public long wallNanos() {
+        return wallNanos;
+    }
+
+    /**
+     * How long the sent requests would have taken one after another.
+     */
+    public long serialNanos() {
+        long total = 0;
+        for (Outcome outcome : outcomes.values()) {
+            total += outcome.durationNanos();
+        }
+        return total;
+    }
+
+    /**
+     * The chain of dependent requests with the largest total duration, first request first.
+     */
+    public List<String> criticalPath() {
+        Map<String, Long> finish = new HashMap<>();
+        Map<String, String> previous = new HashMap<>();
+        String last = null;
+        // Outcomes are in dependency order, so every dependency's finish is known before its dependents'
+        for (Outcome outcome : outcomes.values()) {
+            long start = 0;
+            for (String dependency : dependencies.get(outcome.name())) {
+                if (finish.get(dependency) > start) {
+                    start = finish.get(dependency);
+                    previous.put(outcome.name(), dependency);
+                }
+            }
+            finish.put(outcome.name(), start + outcome.durationNanos());
+            if (last == null || finish.get(outcome.name()) > finish.get(last)) {
+                last = outcome.name();
+            }
+        }
+        List<String> path = new ArrayList<>();
+        for (String name = last; name != null; name = previous.get(name)) {
+            path.add(0, name);
+        }
+        return path;
+    }
+
+    public long criticalPathNanos() {
+        long total = 0;
+        for (String name : criticalPath()) {
+            total += outcomes.get(name).durationNanos();
+        }
+        return total;
+    }
+
+    public String summary() {
+        StringBuilder summary = new StringBuilder(String.format(Locale.ROOT,
+                "Batch of %d requests: %.1f ms, %.1f ms one after another (%.1fx); critical path %s %.1f ms",
+                outcomes.size(), millis(wallNanos), millis(serialNanos()), serialNanos() / (double) Math.max(1, wallNanos),
+                String.join(" -> ", criticalPath()), millis(criticalPathNanos())));
+        for (Outcome outcome : outcomes.values()) {
+            summary.append(System.lineSeparator());
+            if (outcome.sent()) {
+                summary.append(String.format(Locale.ROOT, "  %-12s %-6s %-30s %d  %7.1f - %7.1f ms", outcome.name(),
+                        outcome.request().method(), outcome.request().path(), outcome.response().status(),
+                        millis(outcome.startNanos()), millis(outcome.endNanos())));
+            } else {
+                summary.append(String.format("  %-12s not sent: %s", outcome.name(), outcome.error()));
+            }
+        }
+        return summary.toString();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
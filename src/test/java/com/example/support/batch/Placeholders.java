@@ -0,0 +1,96 @@
+package com.example.support.batch;
+
+import com.example.support.http.ApiRequest;
+import com.example.support.http.BufferedResponse;
+import com.example.support.json.JsonPath;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {@code {{name.field}}} references from a batched request to the response of an earlier one.
+ * The part after the name is a {@link JsonPath} relative to the response root ({@code {{create.id}}}
+ * reads {@code $.id}). Values are URL-encoded in paths and JSON-escaped in bodies and headers.
+ */
+final class Placeholders {
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{\\s*([A-Za-z0-9_-]+)\\.([^}\\s]+)\\s*}}");
+
+    private Placeholders() {
+    }
+
+    static Set<String> referencedBy(ApiRequest request) {
+        Set<String> names = new LinkedHashSet<>();
+        collect(request.path(), names);
+        request.headers().values().forEach(value -> collect(value, names));
+        if (request.body() != null) {
+            collect(request.body(), names);
+        }
+        return names;
+    }
+
+    static ApiRequest resolve(String name, ApiRequest request, Map<String, BufferedResponse> responses) {
+        if (responses.isEmpty()) {
+            return request;
+        }
+        Map<String, String> headers = new LinkedHashMap<>();
+        request.headers().forEach((header, value) -> headers.put(header, substitute(name, value, responses, false)));
+        String path = substitute(name, request.path(), responses, true);
+        String body = request.body() == null ? null : substitute(name, request.body(), responses, false);
+        return new ApiRequest(request.method(), path, headers, body);
+    }
+
+    private static void collect(String text, Set<String> names) {
+        Matcher matcher = PLACEHOLDER.matcher(text);
+        while (matcher.find()) {
+            names.add(matcher.group(1));
+        }
+    }
+
+    private static String substitute(String name, String text, Map<String, BufferedResponse> responses, boolean inPath) {
+        Matcher matcher = PLACEHOLDER.matcher(text);
+        StringBuilder resolved = new StringBuilder();
+        while (matcher.find()) {
+            // Every request named in a placeholder is a dependency, so its response is here
+            BufferedResponse response = responses.get(matcher.group(1));
+            String path = "$." + matcher.group(2);
+            List<String> values = JsonPath.compile(path).evaluate(response.body());
+            if (values.size() != 1) {
+                throw new IllegalStateException(String.format("Request '%s' needs %s, but the response of '%s' has %d values at %s",
+                        name, matcher.group(), matcher.group(1), values.size(), path));
+            }
+            String value = inPath ? URLEncoder.encode(values.get(0), StandardCharsets.UTF_8).replace("+", "%20")
+                    : escapeJson(values.get(0));
+            matcher.appendReplacement(resolved, Matcher.quoteReplacement(value));
+        }
+        matcher.appendTail(resolved);
+        return resolved.toString();
+    }
+
+    private static String escapeJson(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    escaped.append("\\\"");
+                    break;
+                case '\\':
+                    escaped.append("\\\\");
+                    break;
+                case '\n':
+                    escaped.append("\\n");
+                    break;
+                default:
+                    escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.support.batch;
+
+import com.example.support.ThreadPools;
+import com.example.support.http.ApiClient;
+import com.example.support.http.ApiRequest;
+import com.example.support.http.BufferedResponse;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * A set of named requests with the dependencies between them, sent as concurrently as the dependencies allow.
+ *
+ * A request depends on another when its path, headers or body refer to that request's response with a
+ * {@code {{name.field}}} placeholder, for example {@code PUT /posts/{{create.id}}}, or when the other is listed
+ * as one it must run after. Every request is started as soon as all its dependencies have completed, so
+ * independent requests overlap and a dependent one does not wait for unrelated ones. If a request fails,
+ * the requests depending on it are not sent. The batch is checked for unknown names and cycles when built.
+ * <pre>
+ * RequestBatch batch = RequestBatch.builder()
+ *         .request("create", ApiRequest.of("POST", "/posts").withJsonBody(post))
+ *         .request("author", ApiRequest.of("GET", "/users/{{create.userId}}"))
+ *         .request("delete", ApiRequest.of("DELETE", "/posts/1"), "create")
+ *         .build();
+ * </pre>
+ */
+public final class RequestBatch {
+    private static final ExecutorService EXECUTOR = ThreadPools.newPerTaskExecutor("request-batch");
+
+    private final Map<String, ApiRequest> requests;
+    private final Map<String, Set<String>> dependencies;
+
+    private RequestBatch(Map<String, ApiRequest> requests, Map<String, Set<String>> dependencies) {
+        this.requests = requests;
+        this.dependencies = dependencies;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Set<String> names() {
+        return requests.keySet();
+    }
+
+    public Set<String> dependenciesOf(String name) {
+        return dependencies.get(name);
+    }
+
+    /**
+     * Sends the batch through a thread-safe client on a per-task executor and waits for all of it.
+     */
+    public BatchResult execute(ApiClient client) {
+        return execute(client, EXECUTOR);
+    }
+
+    public BatchResult execute(ApiClient client, Executor executor) {
+        long batchStart = System.nanoTime();
+        Map<String, CompletableFuture<BatchResult.Outcome>> futures = new LinkedHashMap<>();
+        // Names are kept in dependency order, so every dependency's future exists before its dependents'
+        for (String name : requests.keySet()) {
+            Map<String, CompletableFuture<BatchResult.Outcome>> inputs = new LinkedHashMap<>();
+            dependencies.get(name).forEach(dependency -> inputs.put(dependency, futures.get(dependency)));
+            CompletableFuture<BatchResult.Outcome> future = CompletableFuture.allOf(inputs.values().toArray(new CompletableFuture[0]))
+                    .handleAsync((ready, failure) -> {
+                        if (failure != null) {
+                            List<String> failed = new ArrayList<>();
+                            inputs.forEach((dependency, input) -> {
+                                if (input.isCompletedExceptionally()) {
+                                    failed.add(dependency);
+                                }
+                            });
+                            throw new IllegalStateException("Not sent because " + String.join(", ", failed) + " failed",
+                                    rootCause(failure));
+                        }
+                        Map<String, BufferedResponse> resolved = new LinkedHashMap<>();
+                        inputs.forEach((dependency, input) -> resolved.put(dependency, input.join().response()));
+                        return send(name, client, resolved, batchStart);
+                    }, executor);
+            futures.put(name, future);
+        }
+
+        Map<String, BatchResult.Outcome> outcomes = new LinkedHashMap<>();
+        futures.forEach((name, future) -> {
+            try {
+                outcomes.put(name, future.join());
+            } catch (CompletionException e) {
+                outcomes.put(name, BatchResult.Outcome.failed(name, rootCause(e)));
+            }
+        });
+        return new BatchResult(outcomes, dependencies, System.nanoTime() - batchStart);
+    }
+
+    private BatchResult.Outcome send(String name, ApiClient client, Map<String, BufferedResponse> inputs, long batchStart) {
+        ApiRequest request = Placeholders.resolve(name, requests.get(name), inputs);
+        long start = System.nanoTime();
+        BufferedResponse response = BufferedResponse.copyOf(client.send(request));
+        long end = System.nanoTime();
+        return new BatchResult.Outcome(name, request, response, null, start - batchStart, end - batchStart);
+    }
+
+    private static Throwable rootCause(Throwable failure) {
+        Throwable cause = failure;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    public static final class Builder {
+        private final Map<String, ApiRequest> requests = new LinkedHashMap<>();
+        private final Map<String, Set<String>> dependencies = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a request that depends on the requests its placeholders refer to and on the ones named in {@code after}.
+         */
+        public Builder request(String name, ApiRequest request, String... after) {
+            if (requests.containsKey(name)) {
+                throw new IllegalArgumentException("The batch already has a request named '" + name + "'");
+            }
+            Set<String> needs = new LinkedHashSet<>(List.of(after));
+            needs.addAll(Placeholders.referencedBy(request));
+            requests.put(name, request);
+            dependencies.put(name, needs);
+            return this;
+        }
+
+        public RequestBatch build() {
+            dependencies.forEach((name, needs) -> needs.forEach(dependency -> {
+                if (!requests.containsKey(dependency)) {
+                    throw new IllegalArgumentException("Request '" + name + "' depends on unknown request '" + dependency + "'");
+                }
+            }));
+            // Kahn's algorithm: order the requests so each comes after its dependencies, or find a cycle
+            Map<String, Integer> waitingOn = new LinkedHashMap<>();
+            dependencies.forEach((name, needs) -> waitingOn.put(name, needs.size()));
+            Deque<String> ready = new ArrayDeque<>();
+            waitingOn.forEach((name, count) -> {
+                if (count == 0) {
+                    ready.add(name);
+                }
+            });
+            Map<String, ApiRequest> ordered = new LinkedHashMap<>();
+            Map<String, Set<String>> orderedDependencies = new LinkedHashMap<>();
+            while (!ready.isEmpty()) {
+                String name = ready.poll();
+                ordered.put(name, requests.get(name));
+                orderedDependencies.put(name, Collections.unmodifiableSet(dependencies.get(name)));
+                dependencies.forEach((dependent, needs) -> {
+                    if (needs.contains(name) && waitingOn.merge(dependent, -1, Integer::sum) == 0) {
+                        ready.add(dependent);
+                    }
+                });
+            }
+            if (ordered.size() < requests.size()) {
+                Set<String> cycle = new LinkedHashSet<>(requests.keySet());
+                cycle.removeAll(ordered.keySet());
+                throw new IllegalArgumentException("The batch has a dependency cycle between " + cycle);
+            }
+            return new RequestBatch(Collections.unmodifiableMap(ordered), Collections.unmodifiableMap(orderedDependencies));
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.support.data;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A stream of example rows read lazily from a CSV or NDJSON file, one line at a time, so a data set of
+ * any size takes the same memory. The name is a path relative to {@code src/test/resources} (looked up
+ * on the classpath) or a file on disk. The format is taken from the extension:
+ * <ul>
+ *   <li>{@code .csv}: a header row with the column names, then one row per line. Fields may be quoted
+ *   with double quotes, with {@code ""} for a quote inside; a field cannot span lines.</li>
+ *   <li>{@code .ndjson}: one JSON object per line. Scalar values are taken as their text, nested ones
+ *   as JSON.</li>
+ * </ul>
+ * Blank lines are skipped. Each row carries its line number for error messages.
+ */
+public final class DataSet implements AutoCloseable {
+
+    /**
+     * One example row: its line in the file and its values by column name.
+     */
+    public record Row(long line, Map<String, String> values) {
+    }
+
+    private final String name;
+    private final BufferedReader reader;
+    private final boolean csv;
+    private List<String> columns;
+    private long line;
+
+    private DataSet(String name, BufferedReader reader, boolean csv) {
+        this.name = name;
+        this.reader = reader;
+        this.csv = csv;
+    }
+
+    public static DataSet open(String name) {
+        boolean csv;
+        if (name.endsWith(".csv")) {
+            csv = true;
+        } else if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            csv = false;
+        } else {
+            throw new IllegalArgumentException("Data set " + name + " is neither .csv nor .ndjson");
+        }
+        try {
+            InputStream in;
+            Path file = Path.of(name);
+            if (Files.isRegularFile(file)) {
+                in = Files.newInputStream(file);
+            } else {
+                in = DataSet.class.getClassLoader().getResourceAsStream(name);
+                if (in == null) {
+                    throw new IllegalArgumentException("No data set " + name + " on the classpath or on disk");
+                }
+            }
+            return new DataSet(name, new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024), csv);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open data set " + name, e);
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Reads up to {@code max} further rows into the given list, which is cleared first.
+     *
+     * @return false once the data set is exhausted and no rows were read
+     */
+    public boolean nextBatch(List<Row> batch, int max) {
+        batch.clear();
+        try {
+            String text;
+            while (batch.size() < max && (text = reader.readLine()) != null) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                if (csv && columns == null) {
+                    columns = parseCsv(text);
+                    continue;
+                }
+                batch.add(new Row(line, csv ? csvRow(text) : jsonRow(text)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read data set " + name + " at line " + line, e);
+        }
+        return !batch.isEmpty();
+    }
+
+    @Override
+    public void close() {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not close data set " + name, e);
+        }
+    }
+
+    private Map<String, String> csvRow(String text) {
+        List<String> fields = parseCsv(text);
+        if (fields.size() != columns.size()) {
+            throw new IllegalArgumentException(String.format("%s line %d has %d fields, but the header has %d",
+                    name, line, fields.size(), columns.size()));
+        }
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            values.put(columns.get(i), fields.get(i));
+        }
+        return values;
+    }
+
+    private Map<String, String> jsonRow(String text) {
+        JsonElement element;
+        try {
+            element = JsonParser.parseString(text);
+        } catch (JsonParseException e) {
+            throw new IllegalArgumentException(name + " line " + line + " is not valid JSON", e);
+        }
+        if (!element.isJsonObject()) {
+            throw new IllegalArgumentException(name + " line " + line + " is not a JSON object");
+        }
+        Map<String, String> values = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonElement> field : ((JsonObject) element).entrySet()) {
+            JsonElement value = field.getValue();
+            values.put(field.getKey(), value.isJsonPrimitive() ? value.getAsString() : value.toString());
+        }
+        return values;
+    }
+
+    private static List<String> parseCsv(String text) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.support.data;
+
+import com.example.support.load.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregate outcome of running every row of a data set: counts, status codes, a latency histogram and
+ * the first {@value #MAX_FAILURES} failures. Its size does not grow with the number of rows, and rows
+ * may be recorded from several threads at once.
+ */
+public final class DataSetResult {
+    static final int MAX_FAILURES = 20;
+
+    private final String name;
+    private final LongAdder passed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final List<String> failures = new ArrayList<>();
+    private long elapsedNanos;
+
+    DataSetResult(String name) {
+        this.name = name;
+    }
+
+    void recordResponse(DataSet.Row row, int status, long nanos, String problem) {
+        latencies.recordNanos(nanos);
+        statuses.computeIfAbsent(Integer.toString(status), s -> new LongAdder()).increment();
+        if (problem == null) {
+            passed.increment();
+        } else {
+            recordFailure(row, problem);
+        }
+    }
+
+    void recordError(DataSet.Row row, RuntimeException error) {
+        statuses.computeIfAbsent("error", s -> new LongAdder()).increment();
+        recordFailure(row, error.toString());
+    }
+
+    private void recordFailure(DataSet.Row row, String problem) {
+        failed.increment();
+        synchronized (failures) {
+            if (failures.size() < MAX_FAILURES) {
+                failures.add("line " + row.line() + " " + row.values() + ": " + problem);
+            }
+        }
+    }
+
+    void finish(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long rows() {
+        return passed.sum() + failed.sum();
+    }
+
+    public long passed() {
+        return passed.sum();
+    }
+
+    public long failed() {
+        return failed.sum();
+    }
+
+    public LatencyHistogram latencies() {
+        return latencies;
+    }
+
+    public String summary() {
+        double seconds = elapsedNanos / 1e9;
+        StringBuilder summary = new StringBuilder(String.format("Data set %s: %d rows in %.2f s (%.0f rows/s), %d passed, %d failed",
+                name, rows(), seconds, seconds == 0 ? 0 : rows() / seconds, passed(), failed()));
+        Map<String, Long> byStatus = new TreeMap<>();
+        statuses.forEach((status, count) -> byStatus.put(status, count.sum()));
+        summary.append(System.lineSeparator()).append("  statuses ").append(byStatus);
+        if (latencies.count() > 0) {
+            summary.append(System.lineSeparator()).append("  latency ").append(latencies.summary());
+        }
+        synchronized (failures) {
+            if (!failures.isEmpty()) {
+                summary.append(System.lineSeparator()).append("  first failures:");
+                failures.forEach(failure -> summary.append(System.lineSeparator()).append("    ").append(failure));
+            }
+        }
+        return summary.toString();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.support.data;
+
+import com.example.support.ThreadPools;
+import com.example.support.http.ApiClient;
+import com.microsoft.playwright.APIResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends a request for every row of a {@link DataSet} and checks its response with a {@link RowTemplate}.
+ * Rows are read {@code api.data.batchSize} (1000) at a time; each batch is worked through by
+ * {@code api.data.parallelism} (8) concurrent workers before the next is read, so at most one batch of
+ * rows is in memory however large the file is. Results go straight into a {@link DataSetResult}.
+ */
+public final class DataSetRunner {
+    private static final ExecutorService EXECUTOR = ThreadPools.newPerTaskExecutor("data-set");
+
+    private final ApiClient client;
+    private final int batchSize;
+    private final int parallelism;
+
+    /**
+     * @param client a client that may be called from several threads at once
+     */
+    public DataSetRunner(ApiClient client) {
+        this(client, Integer.getInteger("api.data.batchSize", 1000), Integer.getInteger("api.data.parallelism", 8));
+    }
+
+    public DataSetRunner(ApiClient client, int batchSize, int parallelism) {
+        this.client = client;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+    }
+
+    public DataSetResult run(String dataSet, RowTemplate template) {
+        DataSetResult result = new DataSetResult(dataSet);
+        List<DataSet.Row> batch = new ArrayList<>(batchSize);
+        long start = System.nanoTime();
+        try (DataSet rows = DataSet.open(dataSet)) {
+            while (rows.nextBatch(batch, batchSize)) {
+                runBatch(batch, template, result);
+            }
+        }
+        result.finish(System.nanoTime() - start);
+        return result;
+    }
+
+    private void runBatch(List<DataSet.Row> batch, RowTemplate template, DataSetResult result) {
+        AtomicInteger next = new AtomicInteger();
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < Math.min(parallelism, batch.size()); i++) {
+            workers.add(EXECUTOR.submit(() -> {
+                for (int row = next.getAndIncrement(); row < batch.size(); row = next.getAndIncrement()) {
+                    runRow(batch.get(row), template, result);
+                }
+            }));
+        }
+        for (Future<?> worker : workers) {
+            try {
+                worker.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Data set worker failed", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while running a data set", e);
+            }
+        }
+    }
+
+    private void runRow(DataSet.Row row, RowTemplate template, DataSetResult result) {
+        APIResponse response = null;
+        try {
+            long start = System.nanoTime();
+            response = client.send(template.requestFor(row));
+            long nanos = System.nanoTime() - start;
+            result.recordResponse(row, response.status(), nanos, template.check(row, response));
+        } catch (RuntimeException e) {
+            result.recordError(row, e);
+        } finally {
+            if (response != null) {
+                response.dispose();
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.support.data;
+
+import com.example.support.http.ApiRequest;
+import com.example.support.json.JsonAssertions;
+import com.microsoft.playwright.APIResponse;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The request to send for each row of a {@link DataSet} and what its response must look like, with
+ * {@code {column}} placeholders filled in from the row. Built from a two-column Gherkin table:
+ * <pre>
+ * | request  | GET /users/{userId} |
+ * | status   | {expectedStatus}    |
+ * | contains | {expectedName}      |
+ * | $.id     | {userId}            |
+ * </pre>
+ * {@code request} is required; {@code body} is an optional JSON body; {@code status} defaults to 200;
+ * {@code contains} is an optional text the body must contain; any key starting with {@code $} is a
+ * JSON path whose value must equal the given text. Values are URL-encoded in the path and used as they
+ * are everywhere else, so a template such as {@code {"title": "{title}"}} decides its own quoting.
+ */
+public final class RowTemplate {
+    private static final Pattern COLUMN = Pattern.compile("\\{([A-Za-z0-9_.-]+)}");
+
+    private final String method;
+    private final String path;
+    private final String body;
+    private final String status;
+    private final String contains;
+    private final Map<String, String> jsonValues;
+
+    private RowTemplate(String method, String path, String body, String status, String contains,
+                        Map<String, String> jsonValues) {
+        this.method = method;
+        this.path = path;
+        this.body = body;
+        this.status = status;
+        this.contains = contains;
+        this.jsonValues = jsonValues;
+    }
+
+    public static RowTemplate fromTable(Map<String, String> table) {
+        String request = table.get("request");
+        if (request == null || !request.trim().contains(" ")) {
+            throw new IllegalArgumentException("The data set table needs a row like | request | GET /users/{id} |");
+        }
+        String[] parts = request.trim().split("\\s+", 2);
+        Map<String, String> jsonValues = new LinkedHashMap<>();
+        table.forEach((key, value) -> {
+            if (key.startsWith("$")) {
+                jsonValues.put(key, value);
+            }
+        });
+        return new RowTemplate(parts[0], parts[1], table.get("body"), table.getOrDefault("status", "200"),
+                table.get("contains"), jsonValues);
+    }
+
+    public ApiRequest requestFor(DataSet.Row row) {
+        ApiRequest request = ApiRequest.of(method, fill(path, row, true));
+        return body == null ? request : request.withJsonBody(fill(body, row, false));
+    }
+
+    /**
+     * What is wrong with the row's response, or null if it is as expected.
+     */
+    public String check(DataSet.Row row, APIResponse response) {
+        String expectedStatus = fill(status, row, false);
+        if (!expectedStatus.equals(Integer.toString(response.status()))) {
+            return "expected status " + expectedStatus + " but was " + response.status();
+        }
+        if (contains != null) {
+            String expected = fill(contains, row, false);
+            if (!response.text().contains(expected)) {
+                return "response does not contain \"" + expected + "\"";
+            }
+        }
+        for (Map.Entry<String, String> expectation : jsonValues.entrySet()) {
+            try {
+                JsonAssertions.assertValue(response.body(), expectation.getKey(), fill(expectation.getValue(), row, false));
+            } catch (AssertionError e) {
+                return e.getMessage();
+            }
+        }
+        return null;
+    }
+
+    private static String fill(String template, DataSet.Row row, boolean urlEncode) {
+        Matcher matcher = COLUMN.matcher(template);
+        StringBuilder filled = new StringBuilder();
+        while (matcher.find()) {
+            String value = row.values().get(matcher.group(1));
+            if (value == null) {
+                throw new IllegalArgumentException("Line " + row.line() + " has no column '" + matcher.group(1) + "'");
+            }
+            if (urlEncode) {
+                value = URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+            }
+            matcher.appendReplacement(filled, Matcher.quoteReplacement(value));
+        }
+        matcher.appendTail(filled);
+        return filled.toString();
+    }
+}
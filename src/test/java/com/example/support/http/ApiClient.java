@@ -0,0 +1,12 @@
+package com.example.support.http;
+
+import com.microsoft.playwright.APIResponse;
+
+/**
+ * Sends the requests made by the step definitions. Implementations may decorate each other,
+ * for example to record and replay responses.
+ */
+public interface ApiClient {
+
+    APIResponse send(ApiRequest request);
+}
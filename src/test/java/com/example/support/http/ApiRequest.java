@@ -0,0 +1,46 @@
+package com.example.support.http;
+
+import com.google.gson.Gson;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An HTTP request as issued by the step definitions: method, path relative to the base URL,
+ * extra headers and an optional, already serialised body.
+ */
+public record ApiRequest(String method, String path, Map<String, String> headers, String body) {
+    private static final Gson GSON = new Gson();
+
+    public ApiRequest {
+        headers = Collections.unmodifiableMap(new LinkedHashMap<>(headers));
+    }
+
+    public static ApiRequest of(String method, String path) {
+        return new ApiRequest(method, path, Map.of(), null);
+    }
+
+    public ApiRequest withHeader(String name, String value) {
+        Map<String, String> copy = new LinkedHashMap<>(headers);
+        copy.put(name, value);
+        return new ApiRequest(method, path, copy, body);
+    }
+
+    public ApiRequest withJsonBody(String json) {
+        return withHeader("Content-Type", "application/json").withBody(json);
+    }
+
+    public ApiRequest withJsonBody(Object value) {
+        return withJsonBody(GSON.toJson(value));
+    }
+
+    private ApiRequest withBody(String newBody) {
+        return new ApiRequest(method, path, headers, newBody);
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + path;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.support.http;
+
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.options.HttpHeader;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * An APIResponse held entirely in memory, independent of any Playwright driver connection.
+ * Used for responses that are replayed rather than fetched.
+ */
+public class BufferedResponse implements APIResponse {
+    private final String url;
+    private final int status;
+    private final String statusText;
+    private final List<HttpHeader> headers;
+    private final byte[] body;
+
+    public BufferedResponse(String url, int status, String statusText, List<HttpHeader> headers, byte[] body) {
+        this.url = url;
+        this.status = status;
+        this.statusText = statusText;
+        this.headers = Collections.unmodifiableList(new ArrayList<>(headers));
+        this.body = body;
+    }
+
+    /**
+     * Copies status, headers and body out of a driver-backed response and releases it. A response that
+     * is already in memory is returned as it is, so a cached or replayed response keeps its type.
+     */
+    public static BufferedResponse copyOf(APIResponse response) {
+        if (response instanceof BufferedResponse buffered) {
+            return buffered;
+        }
+        BufferedResponse copy = new BufferedResponse(response.url(), response.status(), response.statusText(),
+                response.headersArray(), response.body());
+        response.dispose();
+        return copy;
+    }
+
+    public static HttpHeader header(String name, String value) {
+        HttpHeader header = new HttpHeader();
+        header.name = name;
+        header.value = value;
+        return header;
+    }
+
+    @Override
+    public byte[] body() {
+        return body;
+    }
+
+    @Override
+    public void dispose() {
+        // Nothing is held outside the JVM heap
+    }
+
+    @Override
+    public Map<String, String> headers() {
+        Map<String, String> merged = new LinkedHashMap<>();
+        for (HttpHeader header : headers) {
+            merged.merge(header.name.toLowerCase(Locale.ROOT), header.value, (a, b) -> a + ", " + b);
+        }
+        return merged;
+    }
+
+    @Override
+    public List<HttpHeader> headersArray() {
+        return headers;
+    }
+
+    @Override
+    public boolean ok() {
+        return status >= 200 && status <= 299;
+    }
+
+    @Override
+    public int status() {
+        return status;
+    }
+
+    @Override
+    public String statusText() {
+        return statusText;
+    }
+
+    @Override
+    public String text() {
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String url() {
+        return url;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.support.http;
+
+/**
+ * A response served from the {@link ResponseCache} without a request to the server.
+ * Its status, headers and body are those of the response that was cached.
+ */
+public final class CachedResponse extends BufferedResponse {
+
+    CachedResponse(BufferedResponse cached) {
+        super(cached.url(), cached.status(), cached.statusText(), cached.headersArray(), cached.body());
+    }
+}
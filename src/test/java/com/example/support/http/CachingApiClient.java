@@ -0,0 +1,86 @@
+package com.example.support.http;
+
+import com.microsoft.playwright.APIResponse;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Answers GET requests from a {@link ResponseCache} where it can, and invalidates the cached
+ * entries of any resource it sends another method to. Outcomes are counted both in the cache
+ * and in the given per-scenario counters.
+ */
+public class CachingApiClient implements ApiClient {
+    private final ApiClient delegate;
+    private final ResponseCache cache;
+    private final String baseUrl;
+    private final Map<String, String> headers;
+    private final ResponseCache.Counters scenarioCounters;
+
+    public CachingApiClient(ApiClient delegate, ResponseCache cache, String baseUrl, Map<String, String> headers,
+                            ResponseCache.Counters scenarioCounters) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.baseUrl = baseUrl;
+        this.headers = headers;
+        this.scenarioCounters = scenarioCounters;
+    }
+
+    @Override
+    public APIResponse send(ApiRequest request) {
+        String resource = baseUrl + pathOf(request.path());
+        if (!"GET".equals(request.method()) || request.body() != null) {
+            APIResponse response = delegate.send(request);
+            if (!"HEAD".equals(request.method()) && !"OPTIONS".equals(request.method())) {
+                cache.invalidate(resource);
+            }
+            return response;
+        }
+
+        String key = keyOf(request);
+        ResponseCache.Entry entry = cache.get(key);
+        if (entry != null && cache.isFresh(entry)) {
+            record(ResponseCache.Outcome.HIT, entry.fetchNanos());
+            return new CachedResponse(entry.response());
+        }
+
+        ApiRequest sent = entry != null && entry.etag() != null ? request.withHeader("If-None-Match", entry.etag()) : request;
+        long start = System.nanoTime();
+        BufferedResponse response = BufferedResponse.copyOf(delegate.send(sent));
+        long fetchNanos = System.nanoTime() - start;
+        if (response.status() == 304 && entry != null) {
+            // Keep the original fetch time, so later hits are credited with the full request they save
+            cache.put(key, new ResponseCache.Entry(resource, entry.response(), entry.etag(), System.nanoTime(),
+                    entry.fetchNanos()));
+            record(ResponseCache.Outcome.REVALIDATED, Math.max(0, entry.fetchNanos() - fetchNanos));
+            return entry.response();
+        }
+        record(ResponseCache.Outcome.MISS, 0);
+        if (ResponseCache.isStorable(response)) {
+            cache.put(key, new ResponseCache.Entry(resource, response, response.headers().get("etag"), System.nanoTime(),
+                    fetchNanos));
+        }
+        return response;
+    }
+
+    private void record(ResponseCache.Outcome outcome, long savedNanos) {
+        cache.counters().record(outcome, savedNanos);
+        scenarioCounters.record(outcome, savedNanos);
+    }
+
+    /**
+     * Base URL, path and all request headers, with header names in a fixed order and case.
+     */
+    private String keyOf(ApiRequest request) {
+        Map<String, String> allHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        allHeaders.putAll(headers);
+        allHeaders.putAll(request.headers());
+        return baseUrl + request.path() + " " + allHeaders;
+    }
+
+    private static String pathOf(String path) {
+        int query = path.indexOf('?');
+        String resource = query < 0 ? path : path.substring(0, query);
+        return resource.endsWith("/") ? resource.substring(0, resource.length() - 1) : resource;
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.support.http;
+
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.options.HttpHeader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append-only on-disk store of recorded HTTP exchanges.
+ *
+ * The file starts with a magic number followed by length-prefixed entries:
+ * recorded-at millis, key, status, status text, url, headers and body. The key is the
+ * method, the path relative to the base URL and the SHA-256 of the request body, so the
+ * same cassette replays against the local stand-in or the real API. Opening the file
+ * memory-maps it and scans the entry headers once to build the index; later entries for
+ * the same key supersede earlier ones, which is how refreshed recordings take effect.
+ * Replaying decodes a single entry straight from the mapped buffer.
+ */
+public final class Cassette implements AutoCloseable {
+    private static final int MAGIC = 0x43415331; // "CAS1"
+    private static Cassette shared;
+
+    private final Path file;
+    private final CassetteMode mode;
+    private final long maxAgeMillis;
+    private final FileChannel channel;
+    private final MappedByteBuffer mapped;
+    private final Map<String, Integer> index = new ConcurrentHashMap<>();
+    private final Map<String, Entry> appended = new ConcurrentHashMap<>();
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong recorded = new AtomicLong();
+
+    private Cassette(Path file, CassetteMode mode, long maxAgeMillis) throws IOException {
+        this.file = file;
+        this.mode = mode;
+        this.maxAgeMillis = maxAgeMillis;
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() == 0) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, MAGIC));
+        }
+        this.mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        buildIndex();
+        channel.position(channel.size());
+    }
+
+    /**
+     * The JVM-wide cassette configured by the {@code api.cassette.*} properties, or null when recording is off.
+     */
+    public static synchronized Cassette shared() {
+        CassetteMode mode = CassetteMode.fromSystemProperty();
+        if (mode == CassetteMode.OFF) {
+            return null;
+        }
+        if (shared == null) {
+            Path file = Paths.get(System.getProperty("api.cassette.file", "target/cassettes/api.cassette"));
+            long maxAgeHours = Long.getLong("api.cassette.maxAgeHours", 24L);
+            try {
+                shared = new Cassette(file, mode, TimeUnit.HOURS.toMillis(maxAgeHours));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not open cassette " + file, e);
+            }
+        }
+        return shared;
+    }
+
+    public static synchronized void closeShared() {
+        if (shared != null) {
+            System.out.println(shared.summary());
+            shared.close();
+            shared = null;
+        }
+    }
+
+    public CassetteMode mode() {
+        return mode;
+    }
+
+    /**
+     * Returns the recorded response for the request, or null when it has to be sent to the server.
+     */
+    public APIResponse replay(ApiRequest request) {
+        String key = keyOf(request);
+        Entry entry = appended.get(key);
+        if (entry == null) {
+            Integer position = index.get(key);
+            entry = position == null ? null : decode(position);
+        }
+        if (entry == null || (mode == CassetteMode.REFRESH && isStale(entry))) {
+            if (mode == CassetteMode.STRICT) {
+                throw new IllegalStateException("No recorded response for " + request + " in cassette " + file);
+            }
+            return null;
+        }
+        replayed.incrementAndGet();
+        return new ReplayedResponse(entry.response);
+    }
+
+    /**
+     * Appends the response to the cassette and returns an in-memory copy of it.
+     */
+    public APIResponse record(ApiRequest request, APIResponse response) {
+        BufferedResponse copy = BufferedResponse.copyOf(response);
+        Entry entry = new Entry(System.currentTimeMillis(), copy);
+        String key = keyOf(request);
+        ByteBuffer encoded = encode(key, entry);
+        synchronized (this) {
+            try {
+                while (encoded.hasRemaining()) {
+                    channel.write(encoded);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not append to cassette " + file, e);
+            }
+        }
+        appended.put(key, entry);
+        recorded.incrementAndGet();
+        return copy;
+    }
+
+    public String summary() {
+        return String.format("Cassette %s (%s): %d responses replayed, %d recorded",
+                file, mode.name().toLowerCase(Locale.ROOT), replayed.get(), recorded.get());
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            channel.force(false);
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not close cassette " + file, e);
+        }
+    }
+
+    private boolean isStale(Entry entry) {
+        return System.currentTimeMillis() - entry.recordedAt > maxAgeMillis;
+    }
+
+    private void buildIndex() {
+        ByteBuffer buffer = mapped.duplicate();
+        if (buffer.getInt() != MAGIC) {
+            throw new IllegalStateException(file + " is not a cassette file");
+        }
+        while (buffer.remaining() >= Integer.BYTES) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            if (length > buffer.remaining()) {
+                break; // Truncated last entry from an interrupted run
+            }
+            buffer.getLong();
+            index.put(readString(buffer), start);
+            buffer.position(start + Integer.BYTES + length);
+        }
+    }
+
+    private Entry decode(int position) {
+        ByteBuffer buffer = mapped.duplicate();
+        buffer.position(position + Integer.BYTES);
+        long recordedAt = buffer.getLong();
+        readString(buffer);
+        int status = buffer.getInt();
+        String statusText = readString(buffer);
+        String url = readString(buffer);
+        int headerCount = buffer.getInt();
+        List<HttpHeader> headers = new ArrayList<>(headerCount);
+        for (int i = 0; i < headerCount; i++) {
+            headers.add(BufferedResponse.header(readString(buffer), readString(buffer)));
+        }
+        byte[] body = new byte[buffer.getInt()];
+        buffer.get(body);
+        return new Entry(recordedAt, new BufferedResponse(url, status, statusText, headers, body));
+    }
+
+    private static ByteBuffer encode(String key, Entry entry) {
+        BufferedResponse response = entry.response;
+        List<byte[]> strings = new ArrayList<>();
+        strings.add(utf8(key));
+        strings.add(utf8(response.statusText()));
+        strings.add(utf8(response.url()));
+        for (HttpHeader header : response.headersArray()) {
+            strings.add(utf8(header.name));
+            strings.add(utf8(header.value));
+        }
+        int length = Long.BYTES + Integer.BYTES * 3 + response.body().length;
+        for (byte[] string : strings) {
+            length += Integer.BYTES + string.length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + length);
+        buffer.putInt(length).putLong(entry.recordedAt);
+        writeString(buffer, strings.get(0));
+        buffer.putInt(response.status());
+        writeString(buffer, strings.get(1));
+        writeString(buffer, strings.get(2));
+        buffer.putInt(response.headersArray().size());
+        for (int i = 3; i < strings.size(); i++) {
+            writeString(buffer, strings.get(i));
+        }
+        buffer.putInt(response.body().length).put(response.body());
+        return buffer.flip();
+    }
+
+    static String keyOf(ApiRequest request) {
+        byte[] body = request.body() == null ? new byte[0] : utf8(request.body());
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return request.method() + " " + request.path() + " " + HexFormat.of().formatHex(digest.digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(ByteBuffer buffer, byte[] value) {
+        buffer.putInt(value.length).put(value);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] value = new byte[buffer.getInt()];
+        buffer.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private record Entry(long recordedAt, BufferedResponse response) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.support.http;
+
+import com.microsoft.playwright.APIResponse;
+
+/**
+ * Replays responses from a {@link Cassette} and records the ones it does not have yet.
+ */
+public class CassetteApiClient implements ApiClient {
+    private final ApiClient delegate;
+    private final Cassette cassette;
+
+    public CassetteApiClient(ApiClient delegate, Cassette cassette) {
+        this.delegate = delegate;
+        this.cassette = cassette;
+    }
+
+    @Override
+    public APIResponse send(ApiRequest request) {
+        APIResponse replayed = cassette.replay(request);
+        if (replayed != null) {
+            return replayed;
+        }
+        return cassette.record(request, delegate.send(request));
+    }
+}
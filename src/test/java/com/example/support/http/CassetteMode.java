@@ -0,0 +1,21 @@
+package com.example.support.http;
+
+import java.util.Locale;
+
+/**
+ * How the record/replay cassette treats requests, selected with the {@code api.cassette.mode} property.
+ */
+public enum CassetteMode {
+    /** Every request goes to the server; nothing is recorded. */
+    OFF,
+    /** Recorded requests are replayed, new requests are sent and recorded. */
+    RECORD,
+    /** Only recorded requests are allowed; anything else fails the step. */
+    STRICT,
+    /** Like RECORD, but entries older than {@code api.cassette.maxAgeHours} are re-recorded. */
+    REFRESH;
+
+    public static CassetteMode fromSystemProperty() {
+        return valueOf(System.getProperty("api.cassette.mode", "off").trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,311 @@
+package com.example.support.http;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.Flow;
+
+/**
+ * Uploads request bodies from files and downloads response bodies to files with the JDK HttpClient,
+ * for payloads too large to hold in memory. Bodies are never collected on the heap: an upload is
+ * published from the file a buffer at a time, a download is written to a {@link FileChannel} as each
+ * buffer arrives, and the size and SHA-256 digest are computed from the same buffers as they pass.
+ * Requests carry the scenario's default headers and time out after {@code api.transfer.timeoutSeconds}
+ * (600).
+ */
+public final class FileTransfers {
+    private static final Duration TIMEOUT = Duration.ofSeconds(Long.getLong("api.transfer.timeoutSeconds", 600L));
+    private static final int FILE_BUFFER_BYTES = 1 << 20;
+    private static final int MAX_UPLOAD_RESPONSE_BYTES = 64 * 1024;
+
+    private final String baseUrl;
+    private final Map<String, String> headers;
+    private final HttpClient client;
+
+    public FileTransfers(String baseUrl, Map<String, String> headers) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.headers = Map.copyOf(headers);
+        this.client = JdkHttpApiClient.clientFor(baseUrl);
+    }
+
+    /**
+     * Sends the file as the raw request body.
+     */
+    public TransferResult upload(String method, String path, Path file, String contentType) {
+        DigestingPublisher body = new DigestingPublisher(ofFile(file));
+        return send(method + " " + path + " from " + file.getFileName(), file, method, path, contentType, body);
+    }
+
+    /**
+     * Sends the file as the single part of a {@code multipart/form-data} body. The digest and size in
+     * the result cover the whole multipart body, as the server receives it.
+     */
+    public TransferResult uploadMultipart(String method, String path, String field, Path file, String contentType) {
+        String boundary = "----transfer" + UUID.randomUUID().toString().replace("-", "");
+        String head = "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + field + "\"; filename=\"" + file.getFileName() + "\"\r\n"
+                + "Content-Type: " + contentType + "\r\n\r\n";
+        String tail = "\r\n--" + boundary + "--\r\n";
+        DigestingPublisher body = new DigestingPublisher(HttpRequest.BodyPublishers.concat(
+                HttpRequest.BodyPublishers.ofString(head, StandardCharsets.UTF_8),
+                ofFile(file),
+                HttpRequest.BodyPublishers.ofString(tail, StandardCharsets.UTF_8)));
+        return send(method + " " + path + " multipart " + field + "=" + file.getFileName(), file, method, path,
+                "multipart/form-data; boundary=" + boundary, body);
+    }
+
+    /**
+     * Streams the response body of a GET into the file, replacing it if it exists.
+     */
+    public TransferResult download(String path, Path file) {
+        HttpRequest request = builder(path).GET().build();
+        long start = System.nanoTime();
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            HttpResponse<FileSink> response = client.send(request, info -> HttpResponse.BodySubscribers.fromSubscriber(
+                    new FileSink(file), sink -> sink));
+            FileSink sink = response.body();
+            sink.rethrow();
+            return new TransferResult("GET " + path + " to " + file.getFileName(), file, response.statusCode(),
+                    response.headers(), sink.bytes, sink.digest(), System.nanoTime() - start, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("GET " + path + " to " + file + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("GET " + path + " was interrupted", e);
+        }
+    }
+
+    /**
+     * Fills a file with the given number of pseudo-random bytes, written through a direct buffer.
+     */
+    public static void createFile(Path file, long bytes) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(FILE_BUFFER_BYTES);
+        SplittableRandom random = new SplittableRandom(bytes);
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                long remaining = bytes;
+                while (remaining > 0) {
+                    buffer.clear();
+                    while (buffer.remaining() >= Long.BYTES) {
+                        buffer.putLong(random.nextLong());
+                    }
+                    buffer.flip();
+                    buffer.limit((int) Math.min(buffer.limit(), remaining));
+                    while (buffer.hasRemaining()) {
+                        remaining -= channel.write(buffer);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create " + file, e);
+        }
+    }
+
+    /**
+     * The SHA-256 digest of a file, read through a direct buffer.
+     */
+    public static String sha256(Path file) {
+        MessageDigest digest = newDigest();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(FILE_BUFFER_BYTES);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + file, e);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private TransferResult send(String description, Path file, String method, String path, String contentType,
+                                DigestingPublisher body) {
+        HttpRequest request = builder(path).header("Content-Type", contentType).method(method, body).build();
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request, info -> HttpResponse.BodySubscribers.mapping(
+                    HttpResponse.BodySubscribers.ofByteArray(),
+                    bytes -> new String(bytes, 0, Math.min(bytes.length, MAX_UPLOAD_RESPONSE_BYTES), StandardCharsets.UTF_8)));
+            return new TransferResult(description, file, response.statusCode(), response.headers(), body.bytes, body.digest(),
+                    System.nanoTime() - start, response.body());
+        } catch (IOException e) {
+            throw new UncheckedIOException(description + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(description + " was interrupted", e);
+        }
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT);
+        headers.forEach(builder::setHeader);
+        return builder;
+    }
+
+    private static HttpRequest.BodyPublisher ofFile(Path file) {
+        try {
+            return HttpRequest.BodyPublishers.ofFile(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + file, e);
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Passes another publisher's buffers through unchanged, counting and digesting them on the way.
+     */
+    private static final class DigestingPublisher implements HttpRequest.BodyPublisher {
+        private final HttpRequest.BodyPublisher delegate;
+        private final MessageDigest digest = newDigest();
+        private volatile long bytes;
+
+        private DigestingPublisher(HttpRequest.BodyPublisher delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public long contentLength() {
+            return delegate.contentLength();
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+            delegate.subscribe(new Flow.Subscriber<ByteBuffer>() {
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    subscriber.onSubscribe(subscription);
+                }
+
+                @Override
+                public void onNext(ByteBuffer item) {
+                    // onNext calls are serialised by the publisher, so the digest needs no lock
+                    bytes += item.remaining();
+                    digest.update(item.duplicate());
+                    subscriber.onNext(item);
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    subscriber.onError(throwable);
+                }
+
+                @Override
+                public void onComplete() {
+                    subscriber.onComplete();
+                }
+            });
+        }
+
+        String digest() {
+            return HexFormat.of().formatHex(digest.digest());
+        }
+    }
+
+    /**
+     * Writes each received buffer straight to the file channel and digests it.
+     */
+    private static final class FileSink implements Flow.Subscriber<List<ByteBuffer>> {
+        private final Path file;
+        private final MessageDigest digest = newDigest();
+        private FileChannel channel;
+        private long bytes;
+        private IOException failure;
+
+        private FileSink(Path file) {
+            this.file = file;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            try {
+                channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING);
+            } catch (IOException e) {
+                failure = e;
+            }
+            // After a failure the rest of the body is still read, and dropped, so the response completes
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            if (failure != null) {
+                return;
+            }
+            try {
+                for (ByteBuffer buffer : buffers) {
+                    digest.update(buffer.duplicate());
+                    while (buffer.hasRemaining()) {
+                        bytes += channel.write(buffer);
+                    }
+                }
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            close();
+        }
+
+        @Override
+        public void onComplete() {
+            close();
+        }
+
+        private void close() {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    if (failure == null) {
+                        failure = e;
+                    }
+                }
+            }
+        }
+
+        void rethrow() throws IOException {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        String digest() {
+            return HexFormat.of().formatHex(digest.digest());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.support.http;
+
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * The HTTP client the step definitions send their requests with.
+ * Chosen for the whole run with {@code -Dapi.engine=playwright|jdk} (Playwright by default),
+ * and per feature or scenario with an {@code @engine:playwright} or {@code @engine:jdk} tag.
+ */
+public enum HttpEngine {
+    /** Playwright's APIRequestContext; every call is a round trip to the Node driver process. */
+    PLAYWRIGHT,
+    /**
+     * The JDK HttpClient, in process, on virtual threads where the JDK has them. The status text is the
+     * standard reason phrase for the code, as the JDK does not expose the one the server sent.
+     */
+    JDK;
+
+    private static final String TAG_PREFIX = "@engine:";
+
+    public static HttpEngine configured() {
+        return parse(System.getProperty("api.engine", "playwright"));
+    }
+
+    /**
+     * The engine named by an {@code @engine:} tag among the given tags, or the configured engine if there is none.
+     */
+    public static HttpEngine forTags(Collection<String> tags) {
+        for (String tag : tags) {
+            if (tag.startsWith(TAG_PREFIX)) {
+                return parse(tag.substring(TAG_PREFIX.length()));
+            }
+        }
+        return configured();
+    }
+
+    private static HttpEngine parse(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown HTTP engine '" + name + "', expected playwright or jdk", e);
+        }
+    }
+}
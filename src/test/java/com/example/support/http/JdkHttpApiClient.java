@@ -0,0 +1,142 @@
+package com.example.support.http;
+
+import com.example.support.ThreadPools;
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.options.HttpHeader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends requests with the JDK HttpClient instead of the Playwright driver, so a call stays in process.
+ * One client is shared by all scenarios; it is thread-safe and pools its connections. HTTPS endpoints
+ * are spoken to over HTTP/2. Plain-HTTP endpoints such as the local stub use HTTP/1.1, because
+ * cleartext HTTP/2 needs an upgrade that the JDK's own server does not support. Responses are read
+ * fully into a {@link BufferedResponse}. The JDK client does not expose the status line, so the status
+ * text is the standard reason phrase for the code rather than the one the server sent.
+ */
+public class JdkHttpApiClient implements ApiClient {
+    private static final Duration TIMEOUT = Duration.ofMillis(Long.getLong("api.timeoutMillis", 30_000L));
+    private static final HttpClient HTTPS_CLIENT = newClient(HttpClient.Version.HTTP_2);
+    private static final HttpClient PLAIN_CLIENT = newClient(HttpClient.Version.HTTP_1_1);
+    private static final Map<Integer, String> REASON_PHRASES = Map.ofEntries(
+            Map.entry(100, "Continue"),
+            Map.entry(101, "Switching Protocols"),
+            Map.entry(200, "OK"),
+            Map.entry(201, "Created"),
+            Map.entry(202, "Accepted"),
+            Map.entry(203, "Non-Authoritative Information"),
+            Map.entry(204, "No Content"),
+            Map.entry(205, "Reset Content"),
+            Map.entry(206, "Partial Content"),
+            Map.entry(300, "Multiple Choices"),
+            Map.entry(301, "Moved Permanently"),
+            Map.entry(302, "Found"),
+            Map.entry(303, "See Other"),
+            Map.entry(304, "Not Modified"),
+            Map.entry(307, "Temporary Redirect"),
+            Map.entry(308, "Permanent Redirect"),
+            Map.entry(400, "Bad Request"),
+            Map.entry(401, "Unauthorized"),
+            Map.entry(402, "Payment Required"),
+            Map.entry(403, "Forbidden"),
+            Map.entry(404, "Not Found"),
+            Map.entry(405, "Method Not Allowed"),
+            Map.entry(406, "Not Acceptable"),
+            Map.entry(407, "Proxy Authentication Required"),
+            Map.entry(408, "Request Timeout"),
+            Map.entry(409, "Conflict"),
+            Map.entry(410, "Gone"),
+            Map.entry(411, "Length Required"),
+            Map.entry(412, "Precondition Failed"),
+            Map.entry(413, "Content Too Large"),
+            Map.entry(414, "URI Too Long"),
+            Map.entry(415, "Unsupported Media Type"),
+            Map.entry(416, "Range Not Satisfiable"),
+            Map.entry(417, "Expectation Failed"),
+            Map.entry(421, "Misdirected Request"),
+            Map.entry(422, "Unprocessable Content"),
+            Map.entry(426, "Upgrade Required"),
+            Map.entry(428, "Precondition Required"),
+            Map.entry(429, "Too Many Requests"),
+            Map.entry(431, "Request Header Fields Too Large"),
+            Map.entry(500, "Internal Server Error"),
+            Map.entry(501, "Not Implemented"),
+            Map.entry(502, "Bad Gateway"),
+            Map.entry(503, "Service Unavailable"),
+            Map.entry(504, "Gateway Timeout"),
+            Map.entry(505, "HTTP Version Not Supported"));
+
+    private final String baseUrl;
+    private final Map<String, String> headers;
+    private final HttpClient client;
+
+    public JdkHttpApiClient(String baseUrl, Map<String, String> headers) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.headers = Map.copyOf(headers);
+        this.client = clientFor(baseUrl);
+    }
+
+    /**
+     * The shared client for the base URL's scheme.
+     */
+    public static HttpClient clientFor(String baseUrl) {
+        return baseUrl.startsWith("https") ? HTTPS_CLIENT : PLAIN_CLIENT;
+    }
+
+    private static HttpClient newClient(HttpClient.Version version) {
+        return HttpClient.newBuilder()
+                .version(version)
+                .connectTimeout(TIMEOUT)
+                .executor(ThreadPools.newPerTaskExecutor("jdk-http-client"))
+                .build();
+    }
+
+    @Override
+    public APIResponse send(ApiRequest request) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + request.path()))
+                .timeout(TIMEOUT)
+                .method(request.method(), request.body() == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(request.body()));
+        headers.forEach(builder::setHeader);
+        request.headers().forEach(builder::setHeader);
+        try {
+            HttpResponse<byte[]> response = client.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+            return new BufferedResponse(response.uri().toString(), response.statusCode(),
+                    reasonPhrase(response.statusCode()),
+                    headersOf(response), response.body());
+        } catch (IOException e) {
+            throw new UncheckedIOException(request.method() + " " + request.path() + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(request.method() + " " + request.path() + " was interrupted", e);
+        }
+    }
+
+    /**
+     * The reason phrase RFC 9110 gives a status code, or an empty string for codes it does not define,
+     * which is what Playwright reports for a status line without one.
+     */
+    static String reasonPhrase(int status) {
+        return REASON_PHRASES.getOrDefault(status, "");
+    }
+
+    private static List<HttpHeader> headersOf(HttpResponse<?> response) {
+        List<HttpHeader> headers = new ArrayList<>();
+        response.headers().map().forEach((name, values) -> {
+            if (!name.startsWith(":")) {
+                values.forEach(value -> headers.add(BufferedResponse.header(name, value)));
+            }
+        });
+        return headers;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.support.http;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+/**
+ * Builds JSON request bodies from the key/value tables used in the feature files.
+ * The body is written in one pass with a JsonWriter instead of first copying the table into
+ * an intermediate map and serialising that.
+ */
+public final class JsonPayloads {
+
+    private JsonPayloads() {
+    }
+
+    /**
+     * Writes the table as a JSON object. The "id" and "userId" fields are written as numbers,
+     * everything else as strings.
+     */
+    public static String fromTable(Map<String, String> table) {
+        StringWriter out = new StringWriter(32 + table.size() * 24);
+        try (JsonWriter writer = new JsonWriter(out)) {
+            writer.beginObject();
+            for (Map.Entry<String, String> row : table.entrySet()) {
+                writer.name(row.getKey());
+                if (isNumericField(row.getKey())) {
+                    writer.value(Long.parseLong(row.getValue().trim()));
+                } else {
+                    writer.value(row.getValue());
+                }
+            }
+            writer.endObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    private static boolean isNumericField(String key) {
+        return "userId".equals(key) || "id".equals(key);
+    }
+}
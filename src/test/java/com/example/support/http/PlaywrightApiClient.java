@@ -0,0 +1,43 @@
+package com.example.support.http;
+
+import com.microsoft.playwright.APIRequestContext;
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.options.RequestOptions;
+
+/**
+ * Sends requests through a Playwright APIRequestContext.
+ *
+ * Remembers whether any response could have put a cookie in the context's jar: one that carried
+ * Set-Cookie, or one that ended at another URL, since Set-Cookie headers on the redirects that were
+ * followed are not visible in the final response.
+ */
+public class PlaywrightApiClient implements ApiClient {
+    private final APIRequestContext context;
+    private boolean mayHaveSetCookies;
+
+    public PlaywrightApiClient(APIRequestContext context) {
+        this.context = context;
+    }
+
+    @Override
+    public APIResponse send(ApiRequest request) {
+        RequestOptions options = RequestOptions.create().setMethod(request.method());
+        request.headers().forEach(options::setHeader);
+        if (request.body() != null) {
+            options.setData(request.body());
+        }
+        APIResponse response = context.fetch(request.path(), options);
+        if (!mayHaveSetCookies) {
+            mayHaveSetCookies = response.headers().containsKey("set-cookie") || !response.url().endsWith(request.path());
+        }
+        return response;
+    }
+
+    public APIRequestContext context() {
+        return context;
+    }
+
+    public boolean mayHaveSetCookies() {
+        return mayHaveSetCookies;
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.support.http;
+
+import com.example.support.ThreadPools;
+import com.example.support.timing.RequestTimings;
+import com.microsoft.playwright.APIResponse;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Applies the scenario's {@link RequestPolicy} to each request.
+ *
+ * Hedging: a GET is sent and, if no response has arrived once the endpoint's recent latency at the policy's
+ * percentile has passed, sent a second time; the first response to arrive is returned and the other discarded.
+ * Until an endpoint has enough recent samples the duplicate is sent after {@code api.hedge.defaultDelayMillis}
+ * (250). Both attempts go through the thread-safe client, since the scenario's own client may be a Playwright
+ * one that must stay on the scenario's thread.
+ *
+ * Retries: an idempotent request that fails, or is answered with 408, 429, 502, 503 or 504, is sent again
+ * after a random delay of up to {@code backoffMillis * 2^n}, as long as the retry would start within the
+ * policy's time budget.
+ */
+public class PolicyApiClient implements ApiClient {
+    private static final ExecutorService EXECUTOR = ThreadPools.newPerTaskExecutor("hedged-requests");
+    private static final long DEFAULT_HEDGE_DELAY_NANOS =
+            TimeUnit.MILLISECONDS.toNanos(Long.getLong("api.hedge.defaultDelayMillis", 250L));
+    private static final Set<String> IDEMPOTENT = Set.of("GET", "HEAD", "PUT", "DELETE", "OPTIONS");
+    private static final Set<Integer> RETRYABLE_STATUSES = Set.of(408, 429, 502, 503, 504);
+
+    private final ApiClient delegate;
+    private final ApiClient concurrent;
+    private final Supplier<RequestPolicy> policy;
+
+    /**
+     * @param delegate   the scenario's client, used for requests that are not hedged
+     * @param concurrent a client that may be called from any thread; may be the delegate itself
+     * @param policy     read on every request, so a step can change it mid-scenario
+     */
+    public PolicyApiClient(ApiClient delegate, ApiClient concurrent, Supplier<RequestPolicy> policy) {
+        this.delegate = delegate;
+        this.concurrent = concurrent;
+        this.policy = policy;
+    }
+
+    @Override
+    public APIResponse send(ApiRequest request) {
+        RequestPolicy current = policy.get();
+        if (!current.isActive()) {
+            return delegate.send(request);
+        }
+        RequestPolicyStats.request();
+        String endpoint = RequestTimings.endpointOf(request.method(), request.path());
+        boolean hedged = current.hedge() && ("GET".equals(request.method()) || "HEAD".equals(request.method()));
+        boolean retryable = current.maxRetries() > 0 && IDEMPOTENT.contains(request.method());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(current.budgetMillis());
+
+        for (int attempt = 0; ; attempt++) {
+            APIResponse response = null;
+            RuntimeException failure = null;
+            try {
+                response = hedged ? sendHedged(request, endpoint, current) : timed(delegate, request, endpoint);
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+            boolean failed = failure != null || RETRYABLE_STATUSES.contains(response.status());
+            if (!failed) {
+                if (attempt > 0) {
+                    RequestPolicyStats.recovered();
+                }
+                return response;
+            }
+            if (!retryable || attempt >= current.maxRetries()) {
+                return finalResult(response, failure);
+            }
+            long backoffNanos = TimeUnit.MILLISECONDS.toNanos(
+                    ThreadLocalRandom.current().nextLong((current.backoffMillis() << Math.min(attempt, 20)) + 1));
+            if (System.nanoTime() + backoffNanos > deadline) {
+                RequestPolicyStats.outOfBudget();
+                return finalResult(response, failure);
+            }
+            if (response != null) {
+                response.dispose();
+            }
+            sleep(backoffNanos);
+            RequestPolicyStats.retried();
+        }
+    }
+
+    private APIResponse sendHedged(ApiRequest request, String endpoint, RequestPolicy current) {
+        long delay = RecentLatencies.of(endpoint).percentileNanos(current.hedgePercentile());
+        CompletableFuture<APIResponse> primary = CompletableFuture.supplyAsync(
+                () -> timed(concurrent, request, endpoint), EXECUTOR);
+        try {
+            return primary.get(delay < 0 ? DEFAULT_HEDGE_DELAY_NANOS : delay, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Slower than usual: race a second attempt against the first
+        } catch (ExecutionException e) {
+            throw unchecked(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + request, e);
+        }
+
+        CompletableFuture<APIResponse> hedge = CompletableFuture.supplyAsync(
+                () -> timed(concurrent, request, endpoint), EXECUTOR);
+        CompletableFuture<APIResponse> first = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<APIResponse> attempt : List.of(primary, hedge)) {
+            attempt.whenComplete((response, error) -> {
+                if (error == null) {
+                    if (!first.complete(response)) {
+                        response.dispose(); // Lost the race
+                    }
+                } else if (failures.incrementAndGet() == 2) {
+                    first.completeExceptionally(error);
+                }
+            });
+        }
+        APIResponse winner;
+        try {
+            winner = first.get();
+        } catch (ExecutionException e) {
+            RequestPolicyStats.hedged(false);
+            throw unchecked(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + request, e);
+        }
+        RequestPolicyStats.hedged(hedge.isDone() && !hedge.isCompletedExceptionally() && hedge.join() == winner);
+        return winner;
+    }
+
+    private static APIResponse timed(ApiClient client, ApiRequest request, String endpoint) {
+        long start = System.nanoTime();
+        APIResponse response = client.send(request);
+        RecentLatencies.of(endpoint).record(System.nanoTime() - start);
+        return response;
+    }
+
+    private static APIResponse finalResult(APIResponse response, RuntimeException failure) {
+        if (failure != null) {
+            throw failure;
+        }
+        return response;
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while backing off before a retry", e);
+        }
+    }
+
+    private static RuntimeException unchecked(Throwable cause) {
+        return cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.support.http;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The latest response times of one endpoint, in a fixed-size ring, so hedging delays follow the
+ * endpoint's current behaviour rather than the whole run's.
+ */
+final class RecentLatencies {
+    private static final int WINDOW = 256;
+    private static final int MIN_SAMPLES = 10;
+    private static final Map<String, RecentLatencies> ENDPOINTS = new ConcurrentHashMap<>();
+
+    private final long[] samples = new long[WINDOW];
+    private int count;
+    private int next;
+
+    static RecentLatencies of(String endpoint) {
+        return ENDPOINTS.computeIfAbsent(endpoint, e -> new RecentLatencies());
+    }
+
+    synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % WINDOW;
+        count = Math.min(count + 1, WINDOW);
+    }
+
+    /**
+     * The given percentile of the recent samples, or -1 while there are too few to go by.
+     */
+    long percentileNanos(double percentile) {
+        long[] window;
+        synchronized (this) {
+            if (count < MIN_SAMPLES) {
+                return -1;
+            }
+            window = Arrays.copyOf(samples, count);
+        }
+        Arrays.sort(window);
+        int rank = (int) Math.ceil(percentile / 100 * window.length) - 1;
+        return window[Math.max(0, Math.min(rank, window.length - 1))];
+    }
+}
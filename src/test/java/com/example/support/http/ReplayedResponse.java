@@ -0,0 +1,12 @@
+package com.example.support.http;
+
+/**
+ * A response replayed from a {@link Cassette} without a request to the server.
+ * Its status, headers and body are those of the response that was recorded.
+ */
+public final class ReplayedResponse extends BufferedResponse {
+
+    ReplayedResponse(BufferedResponse recorded) {
+        super(recorded.url(), recorded.status(), recorded.statusText(), recorded.headersArray(), recorded.body());
+    }
+}
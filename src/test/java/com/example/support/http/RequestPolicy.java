@@ -0,0 +1,63 @@
+package com.example.support.http;
+
+import java.util.Collection;
+
+/**
+ * How hard a request is tried: whether GETs are hedged, and how often and for how long failures are retried.
+ * The run-wide policy comes from the {@code api.hedge.*} and {@code api.retry.*} properties. A scenario can
+ * override it with an {@code @hedge} or {@code @hedge:p90} tag and a {@code @retry} or {@code @retry:5} tag,
+ * and a step can change it for the rest of its scenario.
+ *
+ * @param hedge            send a duplicate of a slow GET and keep whichever response arrives first
+ * @param hedgePercentile  the percentile of the endpoint's recent latencies after which the duplicate is sent
+ * @param maxRetries       how many times a failed idempotent request may be sent again
+ * @param budgetMillis     time from the first attempt after which no further retry is started
+ * @param backoffMillis    base delay before the first retry; doubled for each further one, with full jitter
+ */
+public record RequestPolicy(boolean hedge, double hedgePercentile, int maxRetries, long budgetMillis, long backoffMillis) {
+    private static final String HEDGE_TAG = "@hedge";
+    private static final String RETRY_TAG = "@retry";
+    private static final int DEFAULT_TAG_RETRIES = 3;
+
+    public static RequestPolicy configured() {
+        return new RequestPolicy(Boolean.getBoolean("api.hedge.enabled"),
+                Double.parseDouble(System.getProperty("api.hedge.percentile", "95")),
+                Integer.getInteger("api.retry.max", 0),
+                Long.getLong("api.retry.budgetMillis", 5_000L),
+                Long.getLong("api.retry.backoffMillis", 100L));
+    }
+
+    /**
+     * The configured policy with the overrides of any {@code @hedge} and {@code @retry} tags among the given tags.
+     */
+    public static RequestPolicy forTags(Collection<String> tags) {
+        RequestPolicy policy = configured();
+        for (String tag : tags) {
+            if (tag.equals(HEDGE_TAG)) {
+                policy = policy.withHedging(policy.hedgePercentile());
+            } else if (tag.startsWith(HEDGE_TAG + ":p")) {
+                policy = policy.withHedging(Double.parseDouble(tag.substring(HEDGE_TAG.length() + 2)));
+            } else if (tag.equals(RETRY_TAG)) {
+                policy = policy.withRetries(Math.max(policy.maxRetries(), DEFAULT_TAG_RETRIES), policy.budgetMillis());
+            } else if (tag.startsWith(RETRY_TAG + ":")) {
+                policy = policy.withRetries(Integer.parseInt(tag.substring(RETRY_TAG.length() + 1)), policy.budgetMillis());
+            }
+        }
+        return policy;
+    }
+
+    public RequestPolicy withHedging(double percentile) {
+        if (percentile <= 0 || percentile >= 100) {
+            throw new IllegalArgumentException("Hedge percentile must be between 0 and 100, was " + percentile);
+        }
+        return new RequestPolicy(true, percentile, maxRetries, budgetMillis, backoffMillis);
+    }
+
+    public RequestPolicy withRetries(int retries, long budget) {
+        return new RequestPolicy(hedge, hedgePercentile, retries, budget, backoffMillis);
+    }
+
+    public boolean isActive() {
+        return hedge || maxRetries > 0;
+    }
+}
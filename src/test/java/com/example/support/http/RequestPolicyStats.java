@@ -0,0 +1,84 @@
+package com.example.support.http;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JVM-wide counts of what the {@link RequestPolicy} did: how many requests it governed, how many extra
+ * attempts it sent as hedges and retries, and which attempt won a hedged request. The extra attempts
+ * relative to the requests are the extra load the policy put on the API.
+ */
+public final class RequestPolicyStats {
+    private static final LongAdder REQUESTS = new LongAdder();
+    private static final LongAdder HEDGES = new LongAdder();
+    private static final LongAdder HEDGE_WINS = new LongAdder();
+    private static final LongAdder RETRIES = new LongAdder();
+    private static final LongAdder RECOVERED = new LongAdder();
+    private static final LongAdder OUT_OF_BUDGET = new LongAdder();
+
+    private RequestPolicyStats() {
+    }
+
+    static void request() {
+        REQUESTS.increment();
+    }
+
+    static void hedged(boolean hedgeWon) {
+        HEDGES.increment();
+        if (hedgeWon) {
+            HEDGE_WINS.increment();
+        }
+    }
+
+    static void retried() {
+        RETRIES.increment();
+    }
+
+    static void recovered() {
+        RECOVERED.increment();
+    }
+
+    static void outOfBudget() {
+        OUT_OF_BUDGET.increment();
+    }
+
+    public static long requests() {
+        return REQUESTS.sum();
+    }
+
+    /**
+     * Attempts sent, by kind: the first attempt of each request, hedges and retries.
+     */
+    public static Map<String, Long> attempts() {
+        Map<String, Long> attempts = new LinkedHashMap<>();
+        attempts.put("primary", REQUESTS.sum());
+        attempts.put("hedge", HEDGES.sum());
+        attempts.put("retry", RETRIES.sum());
+        return attempts;
+    }
+
+    /**
+     * Which attempt's response was kept, for the requests that were hedged.
+     */
+    public static Map<String, Long> hedgeWinners() {
+        Map<String, Long> winners = new LinkedHashMap<>();
+        winners.put("primary", HEDGES.sum() - HEDGE_WINS.sum());
+        winners.put("hedge", HEDGE_WINS.sum());
+        return winners;
+    }
+
+    public static String summary() {
+        long requests = REQUESTS.sum();
+        long hedges = HEDGES.sum();
+        long retries = RETRIES.sum();
+        return String.format("Request policy: %d requests, %d hedged (%.1f%%, hedge won %d), %d retries"
+                        + " (%d requests recovered, %d out of budget); extra load %.1f%%",
+                requests, hedges, percent(hedges, requests), HEDGE_WINS.sum(), retries, RECOVERED.sum(),
+                OUT_OF_BUDGET.sum(), percent(hedges + retries, requests));
+    }
+
+    private static double percent(long part, long whole) {
+        return whole == 0 ? 0 : 100.0 * part / whole;
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.support.http;
+
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JVM-wide cache of GET responses, shared by all scenarios when {@code -Dapi.cache.enabled=true}.
+ *
+ * Entries are keyed by base URL, path and request headers. An entry is served without a request
+ * for {@code api.cache.ttlSeconds} (60 by default). After that, if the response carried an ETag,
+ * the next GET revalidates it with {@code If-None-Match}, and a 304 renews the entry without
+ * transferring the body again. At most {@code api.cache.maxEntries} (500) entries are kept; the
+ * least recently used one is evicted first. A request with any other method invalidates the entries
+ * for its path, the collections above it and the resources below it, since all of those may have changed.
+ */
+public final class ResponseCache {
+    private static ResponseCache shared;
+
+    /**
+     * How a request was answered, as counted in {@link Counters}.
+     */
+    public enum Outcome {
+        /** Served from a fresh entry without a request. */
+        HIT,
+        /** A stale entry the server confirmed unchanged with 304 Not Modified. */
+        REVALIDATED,
+        /** Fetched from the server, and stored if the response was cacheable. */
+        MISS
+    }
+
+    /**
+     * Outcome counts and the request time they saved, for the whole run or for a single scenario.
+     */
+    public static final class Counters {
+        private final Map<Outcome, LongAdder> counts = new EnumMap<>(Outcome.class);
+        private final LongAdder savedNanos = new LongAdder();
+
+        public Counters() {
+            for (Outcome outcome : Outcome.values()) {
+                counts.put(outcome, new LongAdder());
+            }
+        }
+
+        void record(Outcome outcome, long saved) {
+            counts.get(outcome).increment();
+            savedNanos.add(saved);
+        }
+
+        public long count(Outcome outcome) {
+            return counts.get(outcome).sum();
+        }
+
+        public long total() {
+            long total = 0;
+            for (LongAdder count : counts.values()) {
+                total += count.sum();
+            }
+            return total;
+        }
+
+        /**
+         * Time the hits and revalidations saved, estimated from how long the cached responses took to fetch.
+         */
+        public long savedNanos() {
+            return savedNanos.sum();
+        }
+
+        public String summary() {
+            return String.format("Response cache: %d hits, %d revalidated, %d misses, %.1f ms of requests saved",
+                    count(Outcome.HIT), count(Outcome.REVALIDATED), count(Outcome.MISS), savedNanos() / 1_000_000.0);
+        }
+    }
+
+    record Entry(String resource, BufferedResponse response, String etag, long storedAtNanos, long fetchNanos) {
+    }
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Counters counters = new Counters();
+    private final LongAdder invalidated = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LinkedHashMap<String, Entry> entries;
+
+    public ResponseCache(long ttlNanos, int maxEntries) {
+        this.ttlNanos = ttlNanos;
+        this.maxEntries = maxEntries;
+        // Access order turns the map into an LRU list: the eldest entry is the least recently used
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > ResponseCache.this.maxEntries) {
+                    evicted.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * The JVM-wide cache configured by the {@code api.cache.*} properties, or null when caching is off.
+     */
+    public static synchronized ResponseCache shared() {
+        if (!Boolean.getBoolean("api.cache.enabled")) {
+            return null;
+        }
+        if (shared == null) {
+            shared = new ResponseCache(TimeUnit.SECONDS.toNanos(Long.getLong("api.cache.ttlSeconds", 60L)),
+                    Integer.getInteger("api.cache.maxEntries", 500));
+        }
+        return shared;
+    }
+
+    /**
+     * The shared cache's summary, or null if no cache was used in this run.
+     */
+    public static synchronized String sharedSummary() {
+        return shared == null ? null : shared.summary();
+    }
+
+    public Counters counters() {
+        return counters;
+    }
+
+    synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    boolean isFresh(Entry entry) {
+        return System.nanoTime() - entry.storedAtNanos() < ttlNanos;
+    }
+
+    synchronized void put(String key, Entry entry) {
+        entries.put(key, entry);
+    }
+
+    /**
+     * Drops every entry whose resource is the given one, or lies above or below it.
+     */
+    synchronized void invalidate(String resource) {
+        for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+            String cached = it.next().resource();
+            if (cached.equals(resource) || cached.startsWith(resource + "/") || resource.startsWith(cached + "/")) {
+                it.remove();
+                invalidated.increment();
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long invalidations() {
+        return invalidated.sum();
+    }
+
+    public long evictions() {
+        return evicted.sum();
+    }
+
+    public String summary() {
+        return String.format("%s; %d entries, %d invalidated, %d evicted",
+                counters.summary(), size(), invalidations(), evictions());
+    }
+
+    static boolean isStorable(BufferedResponse response) {
+        if (response.status() != 200) {
+            return false;
+        }
+        String cacheControl = response.headers().get("cache-control");
+        return cacheControl == null || !cacheControl.toLowerCase(Locale.ROOT).contains("no-store");
+    }
+}
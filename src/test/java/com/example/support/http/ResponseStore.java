@@ -0,0 +1,93 @@
+package com.example.support.http;
+
+import com.microsoft.playwright.APIResponse;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Named responses kept by the steps of one scenario.
+ * Storing a response reads its body once, keeps only a {@link StoredResponse} summary of it and
+ * disposes the response straight away, so the body is not held by the driver or the heap for the
+ * rest of the scenario. By default a summary keeps at most {@code api.responses.prefixBytes}
+ * (256) bytes of the body; steps that need the whole body store it with {@link Retention#FULL_BODY}.
+ */
+public class ResponseStore {
+    private static final int PREFIX_BYTES = Integer.getInteger("api.responses.prefixBytes", 256);
+
+    public enum Retention {
+        /** Status, headers, digest and a fixed-size body prefix. */
+        SUMMARY,
+        /** Everything in a summary plus the complete body. */
+        FULL_BODY
+    }
+
+    private final Map<String, StoredResponse> entries = new LinkedHashMap<>();
+    private long bodyBytesSeen;
+
+    /**
+     * Summarises the response under the given name, replacing any earlier entry, and disposes it.
+     */
+    public StoredResponse put(String name, APIResponse response, Retention retention) {
+        StoredResponse stored;
+        try {
+            byte[] body = response.body();
+            byte[] retained = retention == Retention.FULL_BODY || body.length <= PREFIX_BYTES
+                    ? body
+                    : Arrays.copyOf(body, PREFIX_BYTES);
+            stored = new StoredResponse(response.status(), response.statusText(), response.url(),
+                    Map.copyOf(response.headers()), body.length, sha256(body), retained);
+            bodyBytesSeen += body.length;
+        } finally {
+            response.dispose();
+        }
+        entries.put(name, stored);
+        return stored;
+    }
+
+    public StoredResponse get(String name) {
+        return entries.get(name);
+    }
+
+    public void forEach(BiConsumer<String, StoredResponse> action) {
+        entries.forEach(action);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Approximate bytes currently held by the stored entries.
+     */
+    public long retainedBytes() {
+        long bytes = 0;
+        for (StoredResponse stored : entries.values()) {
+            bytes += stored.retainedBytes();
+        }
+        return bytes;
+    }
+
+    public String summary() {
+        return String.format("Response store: %d responses, %d body bytes received, %d bytes retained",
+                entries.size(), bodyBytesSeen, retainedBytes());
+    }
+
+    public void clear() {
+        entries.clear();
+        bodyBytesSeen = 0;
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
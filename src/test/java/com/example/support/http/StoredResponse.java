@@ -0,0 +1,53 @@
+package com.example.support.http;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * What a {@link ResponseStore} keeps of a response once its body has been released: the status,
+ * the headers, the body length and SHA-256 digest, and either a fixed-size prefix of the body or,
+ * when a step asked for it, the whole body.
+ */
+public record StoredResponse(int status, String statusText, String url, Map<String, String> headers,
+                             long bodyLength, String bodySha256, byte[] retainedBody) {
+
+    public boolean ok() {
+        return status >= 200 && status < 300;
+    }
+
+    /**
+     * True if {@link #retainedBody()} is the complete body rather than a prefix of it.
+     */
+    public boolean hasFullBody() {
+        return retainedBody.length == bodyLength;
+    }
+
+    /**
+     * The complete body as text. Only available for responses stored with {@link ResponseStore.Retention#FULL_BODY}.
+     */
+    public String text() {
+        if (!hasFullBody()) {
+            throw new IllegalStateException("Only the first " + retainedBody.length + " of " + bodyLength
+                    + " body bytes of " + url + " were kept; store it with FULL_BODY to read the body");
+        }
+        return new String(retainedBody, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The retained body bytes as text, which may end part way through the body.
+     */
+    public String prefix() {
+        return new String(retainedBody, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Approximate heap held by this entry: the retained body plus the header and digest strings.
+     */
+    public long retainedBytes() {
+        long bytes = retainedBody.length + 2L * (bodySha256.length() + url.length() + statusText.length());
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            bytes += 2L * (header.getKey().length() + header.getValue().length());
+        }
+        return bytes;
+    }
+}
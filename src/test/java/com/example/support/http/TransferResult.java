@@ -0,0 +1,22 @@
+package com.example.support.http;
+
+import java.net.http.HttpHeaders;
+import java.nio.file.Path;
+
+/**
+ * The outcome of a {@link FileTransfers} upload or download: the status, the body bytes sent or
+ * received and their SHA-256 digest, and how long it took from sending the request to the last byte.
+ * {@code responseBody} is the (small) response to an upload, and null for a download.
+ */
+public record TransferResult(String description, Path file, int status, HttpHeaders headers, long bytes, String sha256,
+                             long nanos, String responseBody) {
+
+    public double megabytesPerSecond() {
+        return nanos == 0 ? 0 : bytes / 1e6 / (nanos / 1e9);
+    }
+
+    public String summary() {
+        return String.format("%s: status %d, %.1f MB in %.0f ms (%.1f MB/s), sha256 %s",
+                description, status, bytes / 1e6, nanos / 1e6, megabytesPerSecond(), sha256);
+    }
+}
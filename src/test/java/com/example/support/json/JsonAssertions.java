@@ -0,0 +1,55 @@
+package com.example.support.json;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Assertions on JSON response bodies that stream over the raw bytes with compiled {@link JsonPath}s.
+ */
+public final class JsonAssertions {
+
+    private JsonAssertions() {
+    }
+
+    /**
+     * Asserts that the path matches exactly one value and that it equals the expected text.
+     */
+    public static void assertValue(byte[] json, String path, String expected) {
+        List<String> values = JsonPath.compile(path).evaluate(json);
+        assertEquals(1, values.size(), "Expected exactly one value at " + path + " but found " + values);
+        assertEquals(expected, values.get(0), "Unexpected value at " + path);
+    }
+
+    /**
+     * Asserts that the body is a non-empty array and that the path, evaluated against each
+     * element, yields the expected value for every one of them.
+     */
+    public static void assertEveryElement(byte[] json, String path, String expected) {
+        JsonPath compiled = JsonPath.compile(path);
+        List<String> values = new ArrayList<>(1);
+        int elements = 0;
+        try (JsonReader reader = JsonPath.reader(json)) {
+            assertEquals(JsonToken.BEGIN_ARRAY, reader.peek(), "Response body is not a JSON array");
+            reader.beginArray();
+            for (; reader.hasNext(); elements++) {
+                values.clear();
+                compiled.evaluate(reader, values::add);
+                assertFalse(values.isEmpty(), "Element " + elements + " has no value at " + path);
+                for (String value : values) {
+                    assertEquals(expected, value, "Unexpected value at " + path + " in element " + elements);
+                }
+            }
+            reader.endArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read JSON for " + path, e);
+        }
+        assertTrue(elements > 0, "Response body is an empty JSON array");
+    }
+}
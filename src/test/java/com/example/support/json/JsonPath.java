@@ -0,0 +1,217 @@
+package com.example.support.json;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * A compiled JSON path evaluated in one streaming pass over the document.
+ *
+ * Supported syntax: {@code $} for the root, {@code .name} or {@code ['name']} for object fields,
+ * {@code [n]} for array elements, {@code [*]} or {@code .*} for every element or value, and a
+ * trailing {@code .length()} for the size of an array or object. Matched scalars are reported as
+ * their JSON text without quotes; subtrees that cannot match are skipped without being built.
+ * Expressions are compiled once and cached for the life of the JVM.
+ */
+public final class JsonPath {
+    private static final Map<String, JsonPath> CACHE = new ConcurrentHashMap<>();
+    private static final String LENGTH = ".length()";
+    private static final String COMPOSITE = "<composite>";
+
+    private final String expression;
+    private final Segment[] segments;
+    private final boolean length;
+
+    private JsonPath(String expression, Segment[] segments, boolean length) {
+        this.expression = expression;
+        this.segments = segments;
+        this.length = length;
+    }
+
+    public static JsonPath compile(String expression) {
+        return CACHE.computeIfAbsent(expression, JsonPath::parse);
+    }
+
+    /**
+     * All values matched by this path in the given UTF-8 document.
+     */
+    public List<String> evaluate(byte[] json) {
+        List<String> values = new ArrayList<>();
+        try (JsonReader reader = reader(json)) {
+            evaluate(reader, values::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read JSON for " + expression, e);
+        }
+        return values;
+    }
+
+    /**
+     * Evaluates this path against the value the reader is positioned at, consuming that value.
+     */
+    void evaluate(JsonReader reader, Consumer<String> sink) throws IOException {
+        walk(reader, 0, sink);
+    }
+
+    static JsonReader reader(byte[] json) {
+        return new JsonReader(new Utf8ByteReader(json));
+    }
+
+    private void walk(JsonReader reader, int depth, Consumer<String> sink) throws IOException {
+        if (depth == segments.length) {
+            sink.accept(length ? String.valueOf(countChildren(reader)) : readScalar(reader));
+            return;
+        }
+        Segment segment = segments[depth];
+        JsonToken token = reader.peek();
+        if (token == JsonToken.BEGIN_OBJECT && segment.index < 0) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (segment.wildcard || name.equals(segment.name)) {
+                    walk(reader, depth + 1, sink);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        } else if (token == JsonToken.BEGIN_ARRAY && segment.name == null) {
+            reader.beginArray();
+            for (int i = 0; reader.hasNext(); i++) {
+                if (segment.wildcard || i == segment.index) {
+                    walk(reader, depth + 1, sink);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endArray();
+        } else {
+            reader.skipValue();
+        }
+    }
+
+    private static int countChildren(JsonReader reader) throws IOException {
+        int count = 0;
+        switch (reader.peek()) {
+            case BEGIN_ARRAY:
+                reader.beginArray();
+                for (; reader.hasNext(); count++) {
+                    reader.skipValue();
+                }
+                reader.endArray();
+                return count;
+            case BEGIN_OBJECT:
+                reader.beginObject();
+                for (; reader.hasNext(); count++) {
+                    reader.nextName();
+                    reader.skipValue();
+                }
+                reader.endObject();
+                return count;
+            case STRING:
+                return reader.nextString().length();
+            default:
+                reader.skipValue();
+                return 0;
+        }
+    }
+
+    private static String readScalar(JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case STRING:
+            case NUMBER:
+                return reader.nextString();
+            case BOOLEAN:
+                return String.valueOf(reader.nextBoolean());
+            case NULL:
+                reader.nextNull();
+                return "null";
+            default:
+                reader.skipValue();
+                return COMPOSITE;
+        }
+    }
+
+    private static JsonPath parse(String expression) {
+        String path = expression.trim();
+        if (!path.startsWith("$")) {
+            throw new IllegalArgumentException("JSON path must start with $: " + expression);
+        }
+        boolean length = path.endsWith(LENGTH);
+        if (length) {
+            path = path.substring(0, path.length() - LENGTH.length());
+        }
+
+        List<Segment> segments = new ArrayList<>();
+        int i = 1;
+        while (i < path.length()) {
+            char c = path.charAt(i);
+            if (c == '.') {
+                int end = i + 1;
+                while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                    end++;
+                }
+                String name = path.substring(i + 1, end);
+                if (name.isEmpty()) {
+                    throw new IllegalArgumentException("Empty field name in JSON path: " + expression);
+                }
+                segments.add("*".equals(name) ? Segment.WILDCARD : Segment.field(name));
+                i = end;
+            } else if (c == '[') {
+                int end = path.indexOf(']', i);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Unclosed [ in JSON path: " + expression);
+                }
+                String selector = path.substring(i + 1, end).trim();
+                if ("*".equals(selector)) {
+                    segments.add(Segment.WILDCARD);
+                } else if (selector.startsWith("'") && selector.endsWith("'") && selector.length() >= 2) {
+                    segments.add(Segment.field(selector.substring(1, selector.length() - 1)));
+                } else {
+                    try {
+                        segments.add(Segment.index(Integer.parseInt(selector)));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid selector [" + selector + "] in JSON path: " + expression);
+                    }
+                }
+                i = end + 1;
+            } else {
+                throw new IllegalArgumentException("Unexpected '" + c + "' in JSON path: " + expression);
+            }
+        }
+        return new JsonPath(expression, segments.toArray(new Segment[0]), length);
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    private static final class Segment {
+        static final Segment WILDCARD = new Segment(null, -1, true);
+
+        final String name;
+        final int index;
+        final boolean wildcard;
+
+        private Segment(String name, int index, boolean wildcard) {
+            this.name = name;
+            this.index = index;
+            this.wildcard = wildcard;
+        }
+
+        static Segment field(String name) {
+            return new Segment(name, -1, false);
+        }
+
+        static Segment index(int index) {
+            return new Segment(null, index, false);
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package com.example.support.json;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * A JSON Schema compiled into a tree of validators and checked in one streaming pass over a document.
+ *
+ * Supports the keywords the API contracts need: type (single or list), properties, required,
+ * additionalProperties (boolean), items, minItems, maxItems, minLength, maxLength, pattern,
+ * minimum, maximum and enum. Other keywords are ignored. Validation reads the document with a
+ * JsonReader and never builds a tree of it; error locations are only turned into strings when
+ * there is an error to report.
+ */
+public final class JsonSchema {
+    private static final int MAX_ERRORS = 20;
+
+    private static final int OBJECT = 1;
+    private static final int ARRAY = 1 << 1;
+    private static final int STRING = 1 << 2;
+    private static final int INTEGER = 1 << 3;
+    private static final int NUMBER = 1 << 4;
+    private static final int BOOLEAN = 1 << 5;
+    private static final int NULL = 1 << 6;
+
+    private final String name;
+    private final Node root;
+
+    private JsonSchema(String name, Node root) {
+        this.name = name;
+        this.root = root;
+    }
+
+    public static JsonSchema compile(String name, JsonObject schema) {
+        return new JsonSchema(name, compileNode(schema));
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Validates a UTF-8 document and returns the validation errors, empty when it is valid.
+     */
+    public List<String> validate(byte[] json) {
+        return validate(json, false);
+    }
+
+    /**
+     * Validates every element of a top-level JSON array against this schema.
+     */
+    public List<String> validateEachElement(byte[] json) {
+        return validate(json, true);
+    }
+
+    private List<String> validate(byte[] json, boolean eachElement) {
+        Validation validation = new Validation();
+        try (JsonReader reader = JsonPath.reader(json)) {
+            if (eachElement) {
+                if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+                    return List.of("$: expected an array of " + name);
+                }
+                reader.beginArray();
+                for (int i = 0; reader.hasNext(); i++) {
+                    validation.push(i);
+                    validate(reader, root, validation);
+                    validation.pop();
+                }
+                reader.endArray();
+            } else {
+                validate(reader, root, validation);
+            }
+        } catch (IOException | IllegalStateException e) {
+            validation.error("is not well-formed JSON: " + e.getMessage());
+        }
+        return validation.errors == null ? Collections.emptyList() : validation.errors;
+    }
+
+    private static void validate(JsonReader reader, Node node, Validation validation) throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                checkType(node, OBJECT, "object", validation);
+                validateObject(reader, node, validation);
+                break;
+            case BEGIN_ARRAY:
+                checkType(node, ARRAY, "array", validation);
+                validateArray(reader, node, validation);
+                break;
+            case STRING:
+                checkType(node, STRING, "string", validation);
+                validateString(reader.nextString(), node, validation);
+                break;
+            case NUMBER:
+                validateNumber(reader.nextString(), node, validation);
+                break;
+            case BOOLEAN:
+                checkType(node, BOOLEAN, "boolean", validation);
+                checkEnum(String.valueOf(reader.nextBoolean()), node, validation);
+                break;
+            case NULL:
+                checkType(node, NULL, "null", validation);
+                reader.nextNull();
+                break;
+            default:
+                reader.skipValue();
+        }
+    }
+
+    private static void validateObject(JsonReader reader, Node node, Validation validation) throws IOException {
+        if (node.properties.isEmpty() && node.required.length == 0 && node.additionalProperties) {
+            reader.skipValue();
+            return;
+        }
+        long seenMask = 0;
+        BitSet seenSet = node.required.length > Long.SIZE ? new BitSet(node.required.length) : null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String property = reader.nextName();
+            Integer requiredIndex = node.requiredIndex.get(property);
+            if (requiredIndex != null) {
+                if (seenSet != null) {
+                    seenSet.set(requiredIndex);
+                } else {
+                    seenMask |= 1L << requiredIndex;
+                }
+            }
+            Node child = node.properties.get(property);
+            validation.push(property);
+            if (child != null) {
+                validate(reader, child, validation);
+            } else {
+                if (!node.additionalProperties) {
+                    validation.error("is not an allowed property");
+                }
+                reader.skipValue();
+            }
+            validation.pop();
+        }
+        reader.endObject();
+
+        for (int i = 0; i < node.required.length; i++) {
+            boolean seen = seenSet != null ? seenSet.get(i) : (seenMask & (1L << i)) != 0;
+            if (!seen) {
+                validation.error("is missing required property '" + node.required[i] + "'");
+            }
+        }
+    }
+
+    private static void validateArray(JsonReader reader, Node node, Validation validation) throws IOException {
+        if (node.items == null && node.minItems < 0 && node.maxItems < 0) {
+            reader.skipValue();
+            return;
+        }
+        int count = 0;
+        reader.beginArray();
+        for (; reader.hasNext(); count++) {
+            if (node.items != null) {
+                validation.push(count);
+                validate(reader, node.items, validation);
+                validation.pop();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endArray();
+        if (node.minItems >= 0 && count < node.minItems) {
+            validation.error("has " + count + " items, fewer than " + node.minItems);
+        }
+        if (node.maxItems >= 0 && count > node.maxItems) {
+            validation.error("has " + count + " items, more than " + node.maxItems);
+        }
+    }
+
+    private static void validateString(String value, Node node, Validation validation) {
+        int length = value.codePointCount(0, value.length());
+        if (node.minLength >= 0 && length < node.minLength) {
+            validation.error("is shorter than " + node.minLength + " characters");
+        }
+        if (node.maxLength >= 0 && length > node.maxLength) {
+            validation.error("is longer than " + node.maxLength + " characters");
+        }
+        if (node.pattern != null && !node.pattern.matcher(value).find()) {
+            validation.error("does not match pattern " + node.pattern.pattern());
+        }
+        checkEnum(value, node, validation);
+    }
+
+    private static void validateNumber(String literal, Node node, Validation validation) {
+        boolean integral = isIntegral(literal);
+        if (node.types != 0 && (node.types & NUMBER) == 0 && !(integral && (node.types & INTEGER) != 0)) {
+            validation.error("is " + (integral ? "an integer" : "a number") + ", expected " + node.typeNames);
+        }
+        if (node.minimum != null || node.maximum != null) {
+            double value = Double.parseDouble(literal);
+            if (node.minimum != null && value < node.minimum) {
+                validation.error("is less than the minimum of " + node.minimum);
+            }
+            if (node.maximum != null && value > node.maximum) {
+                validation.error("is greater than the maximum of " + node.maximum);
+            }
+        }
+        checkEnum(literal, node, validation);
+    }
+
+    /**
+     * JSON Schema counts any number with a zero fractional part as an integer, such as 1.0 or 1e2.
+     * Decided from the literal's characters; only a literal with an exponent is parsed.
+     */
+    static boolean isIntegral(String literal) {
+        boolean fraction = false;
+        boolean integral = true;
+        for (int i = 0; i < literal.length(); i++) {
+            char c = literal.charAt(i);
+            if (c == 'e' || c == 'E') {
+                // An exponent can shift fraction digits into the integer part, or integer digits out of it
+                return new BigDecimal(literal).stripTrailingZeros().scale() <= 0;
+            }
+            if (c == '.') {
+                fraction = true;
+            } else if (fraction && c != '0') {
+                integral = false;
+            }
+        }
+        return integral;
+    }
+
+    private static void checkType(Node node, int type, String typeName, Validation validation) {
+        if (node.types != 0 && (node.types & type) == 0) {
+            validation.error("is " + typeName + ", expected " + node.typeNames);
+        }
+    }
+
+    private static void checkEnum(String value, Node node, Validation validation) {
+        if (node.enumValues != null && !node.enumValues.contains(value)) {
+            validation.error("'" + value + "' is not one of " + node.enumValues);
+        }
+    }
+
+    private static Node compileNode(JsonObject schema) {
+        Node node = new Node();
+        JsonElement type = schema.get("type");
+        if (type != null) {
+            List<String> names = new ArrayList<>();
+            if (type.isJsonArray()) {
+                type.getAsJsonArray().forEach(t -> names.add(t.getAsString()));
+            } else {
+                names.add(type.getAsString());
+            }
+            for (String typeName : names) {
+                node.types |= typeBit(typeName);
+            }
+            node.typeNames = String.join(" or ", names);
+        }
+        if (schema.has("properties")) {
+            for (Map.Entry<String, JsonElement> property : schema.getAsJsonObject("properties").entrySet()) {
+                node.properties.put(property.getKey(), compileNode(property.getValue().getAsJsonObject()));
+            }
+        }
+        if (schema.has("required")) {
+            JsonArray required = schema.getAsJsonArray("required");
+            node.required = new String[required.size()];
+            for (int i = 0; i < required.size(); i++) {
+                node.required[i] = required.get(i).getAsString();
+                node.requiredIndex.put(node.required[i], i);
+            }
+        }
+        JsonElement additional = schema.get("additionalProperties");
+        if (additional != null && additional.isJsonPrimitive()) {
+            node.additionalProperties = additional.getAsBoolean();
+        }
+        if (schema.has("items")) {
+            node.items = compileNode(schema.getAsJsonObject("items"));
+        }
+        node.minItems = intOrDefault(schema, "minItems");
+        node.maxItems = intOrDefault(schema, "maxItems");
+        node.minLength = intOrDefault(schema, "minLength");
+        node.maxLength = intOrDefault(schema, "maxLength");
+        if (schema.has("pattern")) {
+            node.pattern = Pattern.compile(schema.get("pattern").getAsString());
+        }
+        if (schema.has("minimum")) {
+            node.minimum = schema.get("minimum").getAsDouble();
+        }
+        if (schema.has("maximum")) {
+            node.maximum = schema.get("maximum").getAsDouble();
+        }
+        if (schema.has("enum")) {
+            node.enumValues = new HashSet<>();
+            schema.getAsJsonArray("enum").forEach(value -> node.enumValues.add(value.isJsonNull() ? "null" : value.getAsString()));
+        }
+        return node;
+    }
+
+    private static int typeBit(String typeName) {
+        switch (typeName) {
+            case "object":
+                return OBJECT;
+            case "array":
+                return ARRAY;
+            case "string":
+                return STRING;
+            case "integer":
+                return INTEGER;
+            case "number":
+                return NUMBER;
+            case "boolean":
+                return BOOLEAN;
+            case "null":
+                return NULL;
+            default:
+                throw new IllegalArgumentException("Unknown JSON Schema type: " + typeName);
+        }
+    }
+
+    private static int intOrDefault(JsonObject schema, String keyword) {
+        return schema.has(keyword) ? schema.get(keyword).getAsInt() : -1;
+    }
+
+    private static final class Node {
+        int types;
+        String typeNames;
+        final Map<String, Node> properties = new HashMap<>();
+        String[] required = new String[0];
+        final Map<String, Integer> requiredIndex = new HashMap<>();
+        boolean additionalProperties = true;
+        Node items;
+        int minItems;
+        int maxItems;
+        int minLength;
+        int maxLength;
+        Pattern pattern;
+        Double minimum;
+        Double maximum;
+        Set<String> enumValues;
+    }
+
+    /**
+     * Tracks the location in the document so error messages can name it, and collects the errors.
+     * Path elements are kept in reusable arrays; the location string is only built for an error.
+     */
+    private static final class Validation {
+        private Object[] location = new Object[16];
+        private int depth;
+        private List<String> errors;
+
+        void push(String property) {
+            grow();
+            location[depth++] = property;
+        }
+
+        void push(int index) {
+            grow();
+            location[depth++] = index;
+        }
+
+        void pop() {
+            location[--depth] = null;
+        }
+
+        void error(String message) {
+            if (errors == null) {
+                errors = new ArrayList<>();
+            }
+            if (errors.size() < MAX_ERRORS) {
+                StringBuilder path = new StringBuilder("$");
+                for (int i = 0; i < depth; i++) {
+                    if (location[i] instanceof Integer) {
+                        path.append('[').append(location[i]).append(']');
+                    } else {
+                        path.append('.').append(location[i]);
+                    }
+                }
+                errors.add(path + " " + message);
+            }
+        }
+
+        private void grow() {
+            if (depth == location.length) {
+                location = Arrays.copyOf(location, depth * 2);
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.support.json;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the streaming JSON Schema validator.
+ */
+public class JsonSchemaTest {
+
+    private static JsonSchema schema(String json) {
+        JsonObject schema = JsonParser.parseString(json).getAsJsonObject();
+        return JsonSchema.compile("test", schema);
+    }
+
+    private static List<String> validate(JsonSchema schema, String json) {
+        return schema.validate(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testIntegerAcceptsWholeNumbersInAnyNotation() {
+        JsonSchema schema = schema("{\"type\": \"integer\"}");
+        for (String literal : List.of("0", "-7", "10", "1.0", "-0.0", "1e2", "1E+3", "2.50e1", "12345678901234567890")) {
+            assertEquals(List.of(), validate(schema, literal), literal);
+        }
+    }
+
+    @Test
+    void testIntegerRejectsFractions() {
+        JsonSchema schema = schema("{\"type\": \"integer\"}");
+        for (String literal : List.of("1.5", "-0.1", "1e-1", "1.25E1")) {
+            assertEquals(List.of("$ is a number, expected integer"), validate(schema, literal), literal);
+        }
+    }
+
+    @Test
+    void testIsIntegral() {
+        assertTrue(JsonSchema.isIntegral("100"));
+        assertTrue(JsonSchema.isIntegral("1.000"));
+        assertTrue(JsonSchema.isIntegral("5e0"));
+        assertFalse(JsonSchema.isIntegral("5e-1"));
+        assertFalse(JsonSchema.isIntegral("0.001"));
+        assertFalse(JsonSchema.isIntegral("2.010"));
+        assertTrue(JsonSchema.isIntegral("-3.000"));
+        assertTrue(JsonSchema.isIntegral("1.2500e2"));
+    }
+
+    @Test
+    void testNumberAcceptsIntegers() {
+        JsonSchema schema = schema("{\"type\": \"number\", \"minimum\": 1, \"maximum\": 10}");
+        assertEquals(List.of(), validate(schema, "3"));
+        assertEquals(List.of(), validate(schema, "9.5"));
+        assertEquals(List.of("$ is less than the minimum of 1.0"), validate(schema, "0.5"));
+        assertEquals(List.of("$ is greater than the maximum of 10.0"), validate(schema, "1e2"));
+    }
+
+    @Test
+    void testObjectKeywords() {
+        JsonSchema schema = schema("{\"type\": \"object\", \"required\": [\"id\", \"name\"],"
+                + " \"additionalProperties\": false,"
+                + " \"properties\": {\"id\": {\"type\": \"integer\"}, \"name\": {\"type\": \"string\", \"minLength\": 1}}}");
+        assertEquals(List.of(), validate(schema, "{\"id\": 1, \"name\": \"Leanne\"}"));
+        assertEquals(List.of("$ is missing required property 'name'"), validate(schema, "{\"id\": 1}"));
+        assertEquals(List.of("$.id is string, expected integer"), validate(schema, "{\"id\": \"1\", \"name\": \"x\"}"));
+        assertEquals(List.of("$.extra is not an allowed property"),
+                validate(schema, "{\"id\": 1, \"name\": \"x\", \"extra\": true}"));
+    }
+
+    @Test
+    void testValidateEachElement() {
+        JsonSchema schema = schema("{\"type\": \"object\", \"properties\": {\"id\": {\"type\": \"integer\"}}}");
+        assertEquals(List.of(), schema.validateEachElement("[{\"id\": 1}, {\"id\": 2.0}]".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(List.of("$[1].id is a number, expected integer"),
+                schema.validateEachElement("[{\"id\": 1}, {\"id\": 2.5}]".getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.support.json;
+
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loads JSON Schemas from {@code src/test/resources/schemas} and compiles each one once per JVM.
+ */
+public final class JsonSchemas {
+    private static final String SCHEMA_DIRECTORY = "schemas/";
+    private static final Map<String, JsonSchema> CACHE = new ConcurrentHashMap<>();
+
+    private JsonSchemas() {
+    }
+
+    public static JsonSchema get(String name) {
+        return CACHE.computeIfAbsent(name, JsonSchemas::load);
+    }
+
+    private static JsonSchema load(String name) {
+        String resource = SCHEMA_DIRECTORY + name;
+        try (InputStream in = JsonSchemas.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Schema not found on the classpath: " + resource);
+            }
+            return JsonSchema.compile(name, JsonParser.parseReader(new InputStreamReader(in, StandardCharsets.UTF_8)).getAsJsonObject());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read schema " + resource, e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.support.json;
+
+import java.io.Reader;
+
+/**
+ * Decodes UTF-8 straight out of a byte array. Unlike an InputStreamReader it has no internal
+ * byte and char buffers to allocate, which matters when validating many small documents.
+ * Malformed sequences decode to U+FFFD.
+ */
+final class Utf8ByteReader extends Reader {
+    private static final char REPLACEMENT = '\uFFFD';
+
+    private final byte[] bytes;
+    private int position;
+    private char pendingLowSurrogate;
+
+    Utf8ByteReader(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) {
+        if (length == 0) {
+            return 0;
+        }
+        int count = 0;
+        if (pendingLowSurrogate != 0) {
+            buffer[offset + count++] = pendingLowSurrogate;
+            pendingLowSurrogate = 0;
+        }
+        while (count < length && position < bytes.length) {
+            int b = bytes[position] & 0xFF;
+            if (b < 0x80) {
+                buffer[offset + count++] = (char) b;
+                position++;
+                continue;
+            }
+            int codePoint = decodeMultiByte(b);
+            if (codePoint >= 0x10000) {
+                buffer[offset + count++] = Character.highSurrogate(codePoint);
+                if (count < length) {
+                    buffer[offset + count++] = Character.lowSurrogate(codePoint);
+                } else {
+                    pendingLowSurrogate = Character.lowSurrogate(codePoint);
+                }
+            } else {
+                buffer[offset + count++] = (char) codePoint;
+            }
+        }
+        return count == 0 ? -1 : count;
+    }
+
+    private int decodeMultiByte(int lead) {
+        int extra;
+        int codePoint;
+        if (lead >= 0xF0 && lead <= 0xF4) {
+            extra = 3;
+            codePoint = lead & 0x07;
+        } else if (lead >= 0xE0) {
+            extra = lead <= 0xEF ? 2 : 0;
+            codePoint = lead & 0x0F;
+        } else if (lead >= 0xC2) {
+            extra = 1;
+            codePoint = lead & 0x1F;
+        } else {
+            extra = 0;
+            codePoint = 0;
+        }
+        position++;
+        if (extra == 0 || position + extra > bytes.length) {
+            return REPLACEMENT;
+        }
+        for (int i = 0; i < extra; i++) {
+            int continuation = bytes[position] & 0xFF;
+            if ((continuation & 0xC0) != 0x80) {
+                return REPLACEMENT;
+            }
+            codePoint = (codePoint << 6) | (continuation & 0x3F);
+            position++;
+        }
+        return codePoint;
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.support.load;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size, log-linear latency histogram in the style of HdrHistogram.
+ * Values are kept in microseconds. Each power-of-two range is split into 64 linear
+ * sub-buckets, which bounds the relative error of any percentile to under 1.6%
+ * while covering 1 µs to roughly 19 hours in 2048 counters. Recording is a single
+ * atomic increment, so one histogram can be shared by many threads.
+ */
+public class LatencyHistogram {
+    public static final int BUCKET_COUNT = 2048;
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT / 2;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong();
+
+    public void recordNanos(long nanos) {
+        recordMicros(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    public void recordMicros(long micros) {
+        long value = Math.max(0, micros);
+        counts.incrementAndGet(indexOf(value));
+        total.increment();
+        sum.add(value);
+        min.accumulateAndGet(value, Math::min);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Adds all recorded values of another histogram to this one.
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        total.add(other.total.sum());
+        sum.add(other.sum.sum());
+        min.accumulateAndGet(other.min.get(), Math::min);
+        max.accumulateAndGet(other.max.get(), Math::max);
+    }
+
+    /**
+     * A copy of the count in each bucket, for storing a histogram and comparing whole distributions.
+     * Buckets are in ascending order of the values they hold.
+     */
+    public long[] bucketCounts() {
+        long[] copy = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+        }
+        return copy;
+    }
+
+    /**
+     * Adds counts per bucket as returned by {@link #bucketCounts()}. Each value is taken to be its
+     * bucket's midpoint, so the sum, min and max are as precise as the percentiles.
+     */
+    public void addBucketCounts(long[] bucketCounts) {
+        for (int i = 0; i < Math.min(BUCKET_COUNT, bucketCounts.length); i++) {
+            long count = bucketCounts[i];
+            if (count != 0) {
+                long value = midpointOf(i);
+                counts.addAndGet(i, count);
+                total.add(count);
+                sum.add(value * count);
+                min.accumulateAndGet(value, Math::min);
+                max.accumulateAndGet(value, Math::max);
+            }
+        }
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        total.reset();
+        sum.reset();
+        min.set(Long.MAX_VALUE);
+        max.set(0);
+    }
+
+    public long count() {
+        return total.sum();
+    }
+
+    public long sumMicros() {
+        return sum.sum();
+    }
+
+    public long minMicros() {
+        return count() == 0 ? 0 : min.get();
+    }
+
+    public long maxMicros() {
+        return max.get();
+    }
+
+    public double meanMicros() {
+        long count = count();
+        return count == 0 ? 0 : (double) sum.sum() / count;
+    }
+
+    /**
+     * The value at the given percentile (0-100], reported as the midpoint of its bucket
+     * and clamped to the recorded min and max.
+     */
+    public long percentileMicros(double percentile) {
+        long count = count();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.max(minMicros(), Math.min(maxMicros(), midpointOf(i)));
+            }
+        }
+        return maxMicros();
+    }
+
+    public double percentileMillis(double percentile) {
+        return percentileMicros(percentile) / 1000.0;
+    }
+
+    public String summary() {
+        return String.format("count=%d min=%.2fms p50=%.2fms p90=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms",
+                count(), minMicros() / 1000.0, percentileMillis(50), percentileMillis(90),
+                percentileMillis(99), percentileMillis(99.9), maxMicros() / 1000.0);
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        int index = shift * SUB_BUCKET_HALF + (int) (value >>> shift);
+        return Math.min(index, BUCKET_COUNT - 1);
+    }
+
+    static long midpointOf(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_HALF - 1;
+        long subBucket = index - shift * SUB_BUCKET_HALF;
+        long lowest = subBucket << shift;
+        return lowest + (1L << shift) / 2;
+    }
+}
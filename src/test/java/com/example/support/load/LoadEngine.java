@@ -0,0 +1,178 @@
+package com.example.support.load;
+
+import com.example.support.ThreadPools;
+import com.example.support.http.JdkHttpApiClient;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Load generator for the feature files. Playwright contexts are bound to a single thread,
+ * so load is sent with the JDK HttpClient, which is safe to share between threads. Each engine
+ * uses the client {@link JdkHttpApiClient} shares for the base URL's scheme.
+ *
+ * Two models are supported. {@link #run} is a closed model: a fixed pool of workers sends
+ * requests as fast as responses come back. {@link #runAtFixedRate} is an open model: requests
+ * are started on a fixed schedule whether or not earlier ones have finished, and latency is
+ * measured from each request's intended start time so that a stalled server cannot hide its
+ * tail latency by holding back the senders (coordinated omission).
+ */
+public class LoadEngine {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int MAX_IN_FLIGHT = 10_000;
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final Map<String, String> headers;
+
+    public LoadEngine(String baseUrl, Map<String, String> headers) {
+        this.baseUrl = baseUrl;
+        this.headers = headers;
+        this.client = JdkHttpApiClient.clientFor(baseUrl);
+    }
+
+    public LoadResult run(String method, String path, int totalRequests, int concurrency) {
+        HttpRequest request = buildRequest(method, path);
+        LatencyHistogram latencies = new LatencyHistogram();
+        Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        LongAdder errors = new LongAdder();
+        AtomicInteger remaining = new AtomicInteger(totalRequests);
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency, ThreadPools.daemonThreads("load-worker"));
+        long start = System.nanoTime();
+        for (int i = 0; i < concurrency; i++) {
+            workers.execute(() -> {
+                while (remaining.getAndDecrement() > 0) {
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencies.recordNanos(System.nanoTime() - sent);
+                        statuses.computeIfAbsent(response.statusCode(), s -> new LongAdder()).increment();
+                    } catch (IOException e) {
+                        errors.increment();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            });
+        }
+        workers.shutdown();
+        try {
+            workers.awaitTermination(1, TimeUnit.HOURS);
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        long elapsed = System.nanoTime() - start;
+        return new LoadResult(method + " " + path, latencies, toCounts(statuses), errors.sum(), elapsed);
+    }
+
+    /**
+     * Starts {@code ratePerSecond} requests per second for the given duration and passes the
+     * percentiles of each reporting window to {@code progress} while running, from a reporter thread.
+     * Memory use does not grow with the duration: latencies go into fixed-size histograms and
+     * in-flight requests are capped.
+     */
+    public LoadResult runAtFixedRate(String method, String path, int ratePerSecond, Duration duration, Duration window,
+                                     Consumer<String> progress) {
+        HttpRequest request = buildRequest(method, path);
+        String target = method + " " + path + " @ " + ratePerSecond + " rps";
+        LatencyHistogram latencies = new LatencyHistogram();
+        LatencyHistogram serviceTimes = new LatencyHistogram();
+        RollingWindow rolling = new RollingWindow();
+        Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        LongAdder errors = new LongAdder();
+        Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+
+        long periodNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long totalRequests = duration.toNanos() / periodNanos;
+        long start = System.nanoTime();
+
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(ThreadPools.daemonThreads("soak-reporter"));
+        reporter.scheduleAtFixedRate(() -> rolling.publish(target, System.nanoTime() - start, window, progress),
+                window.toNanos(), window.toNanos(), TimeUnit.NANOSECONDS);
+
+        for (long i = 0; i < totalRequests; i++) {
+            long intended = start + i * periodNanos;
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.acquireUninterruptibly();
+            long sent = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                long completed = System.nanoTime();
+                inFlight.release();
+                if (error != null) {
+                    errors.increment();
+                    return;
+                }
+                latencies.recordNanos(completed - intended);
+                rolling.recordNanos(completed - intended);
+                serviceTimes.recordNanos(completed - sent);
+                statuses.computeIfAbsent(response.statusCode(), s -> new LongAdder()).increment();
+            });
+        }
+        inFlight.acquireUninterruptibly(MAX_IN_FLIGHT);
+        long elapsed = System.nanoTime() - start;
+        reporter.shutdownNow();
+
+        progress.accept("Soak " + target + " service time (uncorrected): " + serviceTimes.summary());
+        return new LoadResult(target, latencies, toCounts(statuses), errors.sum(), elapsed);
+    }
+
+    private HttpRequest buildRequest(String method, String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .method(method, HttpRequest.BodyPublishers.noBody())
+                .timeout(REQUEST_TIMEOUT);
+        headers.forEach(builder::header);
+        return builder.build();
+    }
+
+    private static Map<Integer, Long> toCounts(Map<Integer, LongAdder> statuses) {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statuses.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+
+    /**
+     * Two histograms that swap roles at the end of every reporting window, so window
+     * percentiles are published without allocating. Samples that race with a swap may
+     * be left out of a window's figures; the run totals are kept separately and are exact.
+     */
+    private static final class RollingWindow {
+        private final AtomicReference<LatencyHistogram> active = new AtomicReference<>(new LatencyHistogram());
+        private LatencyHistogram spare = new LatencyHistogram();
+
+        void recordNanos(long nanos) {
+            active.get().recordNanos(nanos);
+        }
+
+        void publish(String target, long elapsedNanos, Duration window, Consumer<String> progress) {
+            LatencyHistogram finished = active.getAndSet(spare);
+            double windowSeconds = window.toNanos() / 1e9;
+            progress.accept(String.format("Soak %s [%.1fs] last %.3gs: %.0f rps, %s", target,
+                    elapsedNanos / 1e9, windowSeconds, finished.count() / windowSeconds, finished.summary()));
+            finished.reset();
+            spare = finished;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.support.load;
+
+import java.util.Map;
+
+/**
+ * Outcome of a load run: latency distribution, status code counts, transport errors and throughput.
+ */
+public record LoadResult(String target, LatencyHistogram latencies, Map<Integer, Long> statusCounts,
+                         long errors, long elapsedNanos) {
+
+    public long requests() {
+        return latencies.count() + errors;
+    }
+
+    public double throughputPerSecond() {
+        return elapsedNanos == 0 ? 0 : requests() * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    public long failures() {
+        long failures = errors;
+        for (Map.Entry<Integer, Long> entry : statusCounts.entrySet()) {
+            if (entry.getKey() >= 400) {
+                failures += entry.getValue();
+            }
+        }
+        return failures;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d requests in %.2fs (%.0f rps), statuses=%s, errors=%d, %s",
+                target, requests(), elapsedNanos / 1e9, throughputPerSecond(), statusCounts, errors,
+                latencies.summary());
+    }
+}
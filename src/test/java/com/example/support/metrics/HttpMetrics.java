@@ -0,0 +1,43 @@
+package com.example.support.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JVM-wide count of HTTP calls made by the step definitions, per normalised endpoint and status code.
+ * Counters are striped {@link LongAdder}s, so parallel scenarios recording the same endpoint do not contend.
+ */
+public final class HttpMetrics {
+    /** Status label for calls that failed without a response. */
+    public static final String ERROR = "error";
+
+    private static final Map<String, Map<String, LongAdder>> CALLS = new ConcurrentHashMap<>();
+
+    private HttpMetrics() {
+    }
+
+    public static void record(String endpoint, int status) {
+        record(endpoint, Integer.toString(status));
+    }
+
+    public static void record(String endpoint, String status) {
+        CALLS.computeIfAbsent(endpoint, e -> new ConcurrentHashMap<>())
+                .computeIfAbsent(status, s -> new LongAdder())
+                .increment();
+    }
+
+    /**
+     * Snapshot of the counts so far, keyed by endpoint and then status, both sorted.
+     */
+    public static Map<String, Map<String, Long>> calls() {
+        Map<String, Map<String, Long>> snapshot = new TreeMap<>();
+        CALLS.forEach((endpoint, statuses) -> {
+            Map<String, Long> counts = new TreeMap<>();
+            statuses.forEach((status, count) -> counts.put(status, count.sum()));
+            snapshot.put(endpoint, counts);
+        });
+        return snapshot;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.support.metrics;
+
+import com.example.support.http.RequestPolicyStats;
+import com.example.support.http.ResponseCache;
+import com.example.support.load.LatencyHistogram;
+import com.example.support.timing.RequestTimings;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Result;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStepFinished;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cucumber plugin that collects step and scenario durations and result counts while the run is in
+ * progress, and at the end writes them together with the per-endpoint HTTP metrics to
+ * {@code metrics.prom} (Prometheus text format) and {@code metrics.openmetrics.txt} (OpenMetrics)
+ * in its output directory, {@code target/metrics} unless one is given after the plugin name.
+ * Events arrive concurrently from the parallel scenario threads. Durations go into lock-free
+ * {@link LatencyHistogram}s and counts into {@link LongAdder}s, so no event handler takes a lock.
+ */
+public class MetricsPlugin implements ConcurrentEventListener {
+    private static final String UNDEFINED_STEP = "undefined";
+    private final File outputDir;
+    private final Map<String, LatencyHistogram> stepDurations = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> scenarioDurations = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> stepResults = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> scenarioResults = new ConcurrentHashMap<>();
+
+    public MetricsPlugin() {
+        this(new File("target/metrics"));
+    }
+
+    public MetricsPlugin(File outputDir) {
+        this.outputDir = outputDir;
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestStepFinished.class, this::onStepFinished);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onScenarioFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> write());
+    }
+
+    private void onStepFinished(TestStepFinished event) {
+        if (event.getTestStep() instanceof PickleStepTestStep step) {
+            // Undefined steps have no step definition, and so no pattern
+            String pattern = step.getPattern() == null ? UNDEFINED_STEP : step.getPattern();
+            record(stepDurations, stepResults, pattern, event.getResult());
+        }
+    }
+
+    private void onScenarioFinished(TestCaseFinished event) {
+        record(scenarioDurations, scenarioResults, event.getTestCase().getName(), event.getResult());
+    }
+
+    /**
+     * Never throws: an exception in an event handler would fail the scenario and the other plugins with it.
+     */
+    private static void record(Map<String, LatencyHistogram> durations, Map<String, LongAdder> results,
+                               String name, Result result) {
+        try {
+            durations.computeIfAbsent(name, n -> new LatencyHistogram()).recordNanos(result.getDuration().toNanos());
+            results.computeIfAbsent(result.getStatus().name().toLowerCase(Locale.ROOT), s -> new LongAdder()).increment();
+        } catch (RuntimeException e) {
+            System.err.println("MetricsPlugin could not record " + name + ": " + e);
+        }
+    }
+
+    private void write() {
+        try {
+            Files.createDirectories(outputDir.toPath());
+            Files.writeString(outputDir.toPath().resolve("metrics.prom"), render(false), StandardCharsets.UTF_8);
+            Files.writeString(outputDir.toPath().resolve("metrics.openmetrics.txt"), render(true), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write metrics to " + outputDir, e);
+        }
+    }
+
+    String render(boolean openMetrics) {
+        MetricsWriter writer = new MetricsWriter(openMetrics);
+        writer.counter("cucumber_scenarios", "Finished scenarios by result status.", byLabel("status", sums(scenarioResults)));
+        writer.counter("cucumber_steps", "Finished steps by result status.", byLabel("status", sums(stepResults)));
+        writer.summary("cucumber_scenario_duration_seconds", "Scenario duration.", byLabel("scenario", scenarioDurations));
+        writer.summary("cucumber_step_duration_seconds", "Step duration per step definition.", byLabel("step", stepDurations));
+
+        Map<Map<String, String>, Long> calls = new LinkedHashMap<>();
+        HttpMetrics.calls().forEach((endpoint, statuses) -> statuses.forEach((status, count) ->
+                calls.put(labels("endpoint", endpoint, "status", status), count)));
+        writer.counter("api_http_requests", "HTTP calls made by the steps per endpoint and status code.", calls);
+
+        Map<Map<String, String>, LatencyHistogram> phases = new LinkedHashMap<>();
+        RequestTimings.endpoints().forEach((endpoint, histograms) -> histograms.forEach((phase, histogram) -> {
+            if (histogram.count() > 0) {
+                phases.put(labels("endpoint", endpoint, "phase", phase.name().toLowerCase(Locale.ROOT)), histogram);
+            }
+        }));
+        writer.summary("api_http_phase_duration_seconds", "Time per request phase per endpoint.", phases);
+
+        if (RequestPolicyStats.requests() > 0) {
+            writer.counter("api_request_attempts", "Attempts sent for requests under a hedging or retry policy, by kind.",
+                    byLabel("kind", RequestPolicyStats.attempts()));
+            writer.counter("api_hedge_winners", "Hedged requests by the attempt whose response was kept.",
+                    byLabel("attempt", RequestPolicyStats.hedgeWinners()));
+        }
+
+        ResponseCache cache = ResponseCache.shared();
+        if (cache != null) {
+            Map<Map<String, String>, Long> outcomes = new LinkedHashMap<>();
+            for (ResponseCache.Outcome outcome : ResponseCache.Outcome.values()) {
+                outcomes.put(Map.of("outcome", outcome.name().toLowerCase(Locale.ROOT)), cache.counters().count(outcome));
+            }
+            writer.counter("api_response_cache_requests", "GET requests by how the response cache answered them.", outcomes);
+            writer.secondsCounter("api_response_cache_saved_seconds", "Request time saved by cache hits and revalidations.",
+                    Map.of(Map.of(), cache.counters().savedNanos() / 1000));
+        }
+        return writer.finish();
+    }
+
+    private static <V> Map<Map<String, String>, V> byLabel(String label, Map<String, V> values) {
+        Map<Map<String, String>, V> samples = new LinkedHashMap<>();
+        new TreeMap<>(values).forEach((value, sample) -> samples.put(Map.of(label, value), sample));
+        return samples;
+    }
+
+    private static Map<String, String> labels(String key1, String value1, String key2, String value2) {
+        Map<String, String> labels = new LinkedHashMap<>();
+        labels.put(key1, value1);
+        labels.put(key2, value2);
+        return labels;
+    }
+
+    private static Map<String, Long> sums(Map<String, LongAdder> adders) {
+        Map<String, Long> sums = new TreeMap<>();
+        adders.forEach((key, adder) -> sums.put(key, adder.sum()));
+        return sums;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.support.metrics;
+
+import com.example.support.load.LatencyHistogram;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Renders metric families in the Prometheus text exposition format (0.0.4) or in OpenMetrics 1.0.
+ * The two differ only in details: OpenMetrics declares counters without the _total suffix,
+ * allows a unit line and requires a closing "# EOF".
+ */
+final class MetricsWriter {
+    private static final double[] QUANTILES = {0.5, 0.9, 0.95, 0.99};
+
+    private final boolean openMetrics;
+    private final StringBuilder out = new StringBuilder(4096);
+
+    MetricsWriter(boolean openMetrics) {
+        this.openMetrics = openMetrics;
+    }
+
+    /**
+     * A counter family; the samples are keyed by their label sets.
+     */
+    void counter(String name, String help, Map<Map<String, String>, Long> samples) {
+        if (samples.isEmpty()) {
+            return;
+        }
+        header(openMetrics ? name : name + "_total", "counter", help, null);
+        samples.forEach((labels, value) -> sample(name + "_total", labels, Long.toString(value)));
+    }
+
+    /**
+     * A counter family of durations, given in microseconds and written in seconds.
+     */
+    void secondsCounter(String name, String help, Map<Map<String, String>, Long> micros) {
+        if (micros.isEmpty()) {
+            return;
+        }
+        header(openMetrics ? name : name + "_total", "counter", help, "seconds");
+        micros.forEach((labels, value) -> sample(name + "_total", labels, seconds(value)));
+    }
+
+    /**
+     * A summary family in seconds built from latency histograms, keyed by their label sets.
+     */
+    void summary(String name, String help, Map<Map<String, String>, LatencyHistogram> histograms) {
+        if (histograms.isEmpty()) {
+            return;
+        }
+        header(name, "summary", help, "seconds");
+        histograms.forEach((labels, histogram) -> {
+            for (double quantile : QUANTILES) {
+                Map<String, String> withQuantile = new LinkedHashMap<>(labels);
+                withQuantile.put("quantile", Double.toString(quantile));
+                sample(name, withQuantile, seconds(histogram.percentileMicros(quantile * 100)));
+            }
+            sample(name + "_sum", labels, seconds(histogram.sumMicros()));
+            sample(name + "_count", labels, Long.toString(histogram.count()));
+        });
+    }
+
+    String finish() {
+        if (openMetrics) {
+            out.append("# EOF\n");
+        }
+        return out.toString();
+    }
+
+    private void header(String name, String type, String help, String unit) {
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        if (openMetrics && unit != null) {
+            out.append("# UNIT ").append(name).append(' ').append(unit).append('\n');
+        }
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+    }
+
+    private void sample(String name, Map<String, String> labels, String value) {
+        out.append(name);
+        if (!labels.isEmpty()) {
+            out.append('{');
+            boolean first = true;
+            for (Map.Entry<String, String> label : labels.entrySet()) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                out.append(label.getKey()).append("=\"");
+                escape(label.getValue());
+                out.append('"');
+            }
+            out.append('}');
+        }
+        out.append(' ').append(value).append('\n');
+    }
+
+    private void escape(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                default:
+                    out.append(c);
+            }
+        }
+    }
+
+    private static String seconds(long micros) {
+        return String.format(Locale.ROOT, "%.6f", micros / 1_000_000.0);
+    }
+}
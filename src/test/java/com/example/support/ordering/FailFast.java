@@ -0,0 +1,34 @@
+package com.example.support.ordering;
+
+import org.opentest4j.TestAbortedException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stops starting scenarios once {@code -Dcucumber.failfast=N} scenarios have failed (0, the default, never stops).
+ * Scenarios that are already running finish normally; the ones that start afterwards are aborted before
+ * their first step, which Cucumber reports as skipped. Combined with {@link ScenarioOrder#FAILED_FIRST},
+ * a run that is still broken stops after the first few scenarios.
+ */
+public final class FailFast {
+    private static final AtomicInteger FAILURES = new AtomicInteger();
+
+    private FailFast() {
+    }
+
+    public static void recordFailure() {
+        FAILURES.incrementAndGet();
+    }
+
+    /**
+     * Throws {@link TestAbortedException} if the failure threshold has been reached.
+     */
+    public static void checkBeforeScenario() {
+        int threshold = Integer.getInteger("cucumber.failfast", 0);
+        int failures = FAILURES.get();
+        if (threshold > 0 && failures >= threshold) {
+            throw new TestAbortedException("Skipped: fail-fast threshold of " + threshold
+                    + " failed scenarios reached (" + failures + " failed)");
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.support.ordering;
+
+import org.junit.platform.launcher.LauncherSession;
+import org.junit.platform.launcher.LauncherSessionListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Orders the feature files according to {@link ScenarioOrder#configured()} before any tests are discovered,
+ * by passing them to the Cucumber engine in that order through its {@code cucumber.features} option.
+ * The Cucumber engine has no way to order scenarios itself, so ordering is per feature file: a feature
+ * takes the rank of its highest-ranked scenario in the {@link ScenarioHistory}, a feature without history
+ * ranks as a new scenario, and scenarios keep their order within the file. An explicit
+ * {@code -Dcucumber.features} is left alone. Registered through META-INF/services as a launcher session
+ * listener, which the JUnit Platform calls before discovery starts.
+ */
+public class FeatureOrdering implements LauncherSessionListener {
+    private static final String FEATURES_PROPERTY = "cucumber.features";
+    private static final String FEATURES_DIRECTORY = "features";
+
+    @Override
+    public void launcherSessionOpened(LauncherSession session) {
+        ScenarioOrder order = ScenarioOrder.configured();
+        if (order == ScenarioOrder.FILE || System.getProperty(FEATURES_PROPERTY) != null) {
+            return;
+        }
+        Path file = ScenarioHistory.defaultFile();
+        ScenarioHistory history = ScenarioHistory.read(file);
+        List<String> features = featureFiles();
+        if (history.isEmpty() || features.isEmpty()) {
+            System.out.println("Scenario order " + order + ": no history in " + file + ", keeping file order");
+            return;
+        }
+        List<String> ordered = order(features, order, history);
+        System.setProperty(FEATURES_PROPERTY, ordered.stream().map(feature -> "classpath:" + feature)
+                .collect(Collectors.joining(",")));
+        System.out.println("Scenario order " + order + ": features ordered by the history in " + file);
+    }
+
+    static List<String> order(List<String> features, ScenarioOrder order, ScenarioHistory history) {
+        long defaultMicros = history.meanMicros();
+        ScenarioOrder.Rank unknown = order.rank(new ScenarioHistory.Entry(0, 0, 0), defaultMicros);
+        Map<String, ScenarioOrder.Rank> ranks = new LinkedHashMap<>();
+        for (String feature : features) {
+            ScenarioOrder.Rank best = unknown;
+            for (ScenarioHistory.Entry entry : history.entriesOf(feature)) {
+                ScenarioOrder.Rank rank = order.rank(entry, defaultMicros);
+                if (rank.compareTo(best) < 0) {
+                    best = rank;
+                }
+            }
+            ranks.put(feature, best);
+        }
+        List<String> ordered = new ArrayList<>(features);
+        // List.sort is stable, so equally ranked features keep the file order
+        ordered.sort(Comparator.comparing(ranks::get));
+        return ordered;
+    }
+
+    /**
+     * The feature files under the classpath's features directory, such as features/a.feature, by name.
+     * Empty when the directory is not on the file system, e.g. inside a jar.
+     */
+    private static List<String> featureFiles() {
+        URL url = FeatureOrdering.class.getClassLoader().getResource(FEATURES_DIRECTORY);
+        if (url == null || !"file".equals(url.getProtocol())) {
+            return List.of();
+        }
+        try {
+            Path root = Path.of(url.toURI()).getParent();
+            try (Stream<Path> files = Files.walk(root.resolve(FEATURES_DIRECTORY))) {
+                return files.filter(path -> path.toString().endsWith(".feature"))
+                        .map(path -> root.relativize(path).toString().replace('\\', '/'))
+                        .sorted()
+                        .collect(Collectors.toList());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list the feature files", e);
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Unexpected features location " + url, e);
+        }
+    }
+}
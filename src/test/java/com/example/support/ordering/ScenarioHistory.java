@@ -0,0 +1,163 @@
+package com.example.support.ordering;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-scenario run history kept in a small tab-separated file, one line per scenario:
+ * <pre>
+ * features/basic_api_operations.feature:12	32570	14	3
+ * </pre>
+ * The columns are the scenario location, a moving average of its duration in microseconds, the number of
+ * recorded runs, and the outcomes of its last {@value #WINDOW} runs as bits (1 = failed, lowest bit = latest).
+ * After each run only the scenarios that ran are updated; the rest of the file is kept as it was.
+ * Updates take a lock on a sibling ".lock" file and replace the file atomically, so concurrent JVMs on one
+ * machine neither corrupt it nor lose each other's updates.
+ */
+public final class ScenarioHistory {
+    /** Number of most recent outcomes kept per scenario. */
+    static final int WINDOW = 16;
+    private static final double DURATION_WEIGHT = 0.3;
+
+    /**
+     * What is known about one scenario.
+     */
+    public record Entry(long meanMicros, int runs, int outcomes) {
+
+        public boolean failedLastRun() {
+            return runs > 0 && (outcomes & 1) != 0;
+        }
+
+        /**
+         * Number of times the outcome changed between consecutive runs in the window.
+         */
+        public int flips() {
+            int window = Math.min(runs, WINDOW);
+            if (window < 2) {
+                return 0;
+            }
+            int changes = outcomes ^ (outcomes >>> 1);
+            return Integer.bitCount(changes & ((1 << (window - 1)) - 1));
+        }
+
+        /**
+         * Went from passing to failing and back (or the other way round) at least once in the window.
+         */
+        public boolean flaky() {
+            return flips() >= 2;
+        }
+
+        Entry record(long micros, boolean failed) {
+            long mean = runs == 0 ? micros : Math.round(DURATION_WEIGHT * micros + (1 - DURATION_WEIGHT) * meanMicros);
+            int window = ((outcomes << 1) | (failed ? 1 : 0)) & ((1 << WINDOW) - 1);
+            return new Entry(mean, runs + 1, window);
+        }
+    }
+
+    private final Map<String, Entry> entries;
+
+    private ScenarioHistory(Map<String, Entry> entries) {
+        this.entries = entries;
+    }
+
+    public static Path defaultFile() {
+        return Path.of(System.getProperty("cucumber.history.file", ".cucumber-history/scenarios.tsv"));
+    }
+
+    public static ScenarioHistory read(Path file) {
+        Map<String, Entry> entries = new TreeMap<>();
+        if (!Files.isRegularFile(file)) {
+            return new ScenarioHistory(entries);
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] columns = line.split("\t");
+                if (columns.length == 4) {
+                    entries.put(columns[0], new Entry(Long.parseLong(columns[1]), Integer.parseInt(columns[2]),
+                            Integer.parseInt(columns[3])));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            System.out.println("Ignoring unreadable scenario history " + file + ": " + e);
+            entries.clear();
+        }
+        return new ScenarioHistory(entries);
+    }
+
+    /**
+     * Merges one run's results into the file: each result is a scenario key mapped to its duration
+     * in microseconds, negated if the scenario failed.
+     */
+    public static void update(Path file, Map<String, Long> results) {
+        if (results.isEmpty()) {
+            return;
+        }
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            try (FileChannel lockChannel = FileChannel.open(parent.resolve(file.getFileName() + ".lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = lockChannel.lock()) {
+                ScenarioHistory history = read(file);
+                results.forEach((key, signedMicros) -> history.entries.put(key,
+                        history.entryOf(key).record(Math.abs(signedMicros), signedMicros < 0)));
+                Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+                try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                    for (Map.Entry<String, Entry> entry : history.entries.entrySet()) {
+                        Entry value = entry.getValue();
+                        writer.write(entry.getKey() + "\t" + value.meanMicros() + "\t" + value.runs() + "\t" + value.outcomes());
+                        writer.newLine();
+                    }
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not update scenario history " + file, e);
+        }
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * Mean of the recorded scenario durations, used for scenarios that have no history yet.
+     */
+    public long meanMicros() {
+        return Math.round(entries.values().stream().mapToLong(Entry::meanMicros).average().orElse(0));
+    }
+
+    /**
+     * The histories of the scenarios of one feature file, given by its path such as features/a.feature.
+     */
+    public List<Entry> entriesOf(String feature) {
+        List<Entry> featureEntries = new ArrayList<>();
+        entries.forEach((key, entry) -> {
+            if (key.startsWith(feature + ":")) {
+                featureEntries.add(entry);
+            }
+        });
+        return featureEntries;
+    }
+
+    /**
+     * The scenario's history, or an empty entry if it has never run.
+     */
+    public Entry entryOf(String key) {
+        return entries.getOrDefault(key, new Entry(0, 0, 0));
+    }
+}
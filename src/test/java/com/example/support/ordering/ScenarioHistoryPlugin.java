@@ -0,0 +1,51 @@
+package com.example.support.ordering;
+
+import com.example.support.sharding.ScenarioDurations;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.Result;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cucumber plugin that records each scenario's duration and outcome and merges them into the
+ * {@link ScenarioHistory} file when the run ends: {@code cucumber.history.file} by default,
+ * or the file given after the plugin name. Skipped scenarios, including those cut short by
+ * {@link FailFast}, say nothing about the scenario and are left out.
+ */
+public class ScenarioHistoryPlugin implements ConcurrentEventListener {
+    private final Path file;
+    private final Map<String, Long> results = new ConcurrentHashMap<>();
+
+    public ScenarioHistoryPlugin() {
+        this.file = ScenarioHistory.defaultFile();
+    }
+
+    public ScenarioHistoryPlugin(File file) {
+        this.file = file.toPath();
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onScenarioFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> ScenarioHistory.update(file, results));
+    }
+
+    private void onScenarioFinished(TestCaseFinished event) {
+        Result result = event.getResult();
+        if (result.getStatus() == Status.SKIPPED) {
+            return;
+        }
+        TestCase testCase = event.getTestCase();
+        String key = ScenarioDurations.key(testCase.getUri().toString(), testCase.getLocation().getLine());
+        long micros = Math.max(1, result.getDuration().toNanos() / 1000);
+        results.put(key, result.getStatus() == Status.PASSED ? micros : -micros);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.support.ordering;
+
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * The order Cucumber runs feature files in, chosen with {@code -Dcucumber.order=file|failed-first|slowest-first}.
+ * Both history-based orders rank each scenario with {@link ScenarioHistory}, and {@link FeatureOrdering}
+ * gives each feature the rank of its best scenario; ties keep the feature file order.
+ */
+public enum ScenarioOrder {
+    /** Features in the order they are discovered, as Cucumber runs them by default. */
+    FILE,
+    /**
+     * Scenarios that failed in their last run first, then flaky ones, then ones without history,
+     * then the rest; longest first within each group. Gives the quickest signal on a fix.
+     */
+    FAILED_FIRST,
+    /**
+     * Longest scenarios first, so a parallel run does not end with one long scenario on a single worker.
+     * Scenarios without history are placed as if they took the average time.
+     */
+    SLOWEST_FIRST;
+
+    /**
+     * How early a scenario should run; a feature runs as early as its lowest-ranked scenario.
+     * Lower ranks run earlier.
+     */
+    record Rank(int group, long micros) implements Comparable<Rank> {
+        private static final Comparator<Rank> ORDER = Comparator.comparingInt(Rank::group)
+                .thenComparing(Comparator.comparingLong(Rank::micros).reversed());
+
+        @Override
+        public int compareTo(Rank other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    public static ScenarioOrder configured() {
+        String name = System.getProperty("cucumber.order", "file");
+        try {
+            return valueOf(name.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown scenario order '" + name
+                    + "', expected file, failed-first or slowest-first", e);
+        }
+    }
+
+    Rank rank(ScenarioHistory.Entry entry, long defaultMicros) {
+        switch (this) {
+            case FAILED_FIRST:
+                if (entry.runs() == 0) {
+                    return new Rank(2, defaultMicros);
+                }
+                return new Rank(entry.failedLastRun() ? 0 : entry.flaky() ? 1 : 3, entry.meanMicros());
+            case SLOWEST_FIRST:
+                return new Rank(0, entry.runs() == 0 ? defaultMicros : entry.meanMicros());
+            default:
+                return new Rank(0, 0);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.support.report;
+
+import com.example.support.load.LatencyHistogram;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds a single-page HTML dashboard from one or more {@code events.ndjson} files written by
+ * {@link StreamingReportPlugin}, for example one per shard. Each file is read once, a line at a time,
+ * into a {@link RunSummary}, so the time and memory it takes grow with the number of features rather
+ * than with the size of the reports. Runs in the {@code verify} phase:
+ * <pre>
+ * mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.support.report.Dashboard \
+ *     -Dexec.args="target/cucumber-reports/dashboard.html target/cucumber-reports shard-2/cucumber-reports"
+ * </pre>
+ * Each input is an events file or a directory containing one. Missing inputs are skipped with a
+ * message, so a build that ran no tests still succeeds.
+ */
+public final class Dashboard {
+
+    private Dashboard() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: Dashboard <output html> <events.ndjson or report dir>...");
+            System.exit(2);
+        }
+        List<Path> inputs = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            Path input = Path.of(args[i]);
+            Path events = Files.isDirectory(input) ? input.resolve(StreamingReportPlugin.EVENTS_FILE) : input;
+            if (Files.isRegularFile(events)) {
+                inputs.add(events);
+            } else {
+                System.out.println("Dashboard: no events at " + events + ", skipping it");
+            }
+        }
+        if (inputs.isEmpty()) {
+            System.out.println("Dashboard: nothing to report");
+            return;
+        }
+        long start = System.nanoTime();
+        RunSummary summary = read(inputs);
+        Path output = Path.of(args[0]);
+        write(summary, output);
+        System.out.printf("Dashboard: %d scenarios from %d file(s) written to %s in %.0f ms%n",
+                summary.total(), inputs.size(), output, (System.nanoTime() - start) / 1e6);
+    }
+
+    public static RunSummary read(List<Path> inputs) {
+        RunSummary summary = new RunSummary();
+        for (Path input : inputs) {
+            try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    JsonObject event = JsonParser.parseString(line).getAsJsonObject();
+                    if (ScenarioEvent.TYPE.equals(event.get("type").getAsString())) {
+                        summary.record(ScenarioEvent.fromJson(event));
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read " + input, e);
+            }
+        }
+        return summary;
+    }
+
+    public static void write(RunSummary summary, Path output) {
+        try {
+            if (output.getParent() != null) {
+                Files.createDirectories(output.getParent());
+            }
+            try (Writer out = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+                render(summary, out);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write " + output, e);
+        }
+    }
+
+    static void render(RunSummary summary, Writer out) throws IOException {
+        long passed = summary.count("PASSED");
+        long failed = summary.count("FAILED");
+        out.write("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>API test dashboard</title>\n"
+                + "<style>body{font-family:sans-serif;margin:2em}table{border-collapse:collapse;margin-bottom:2em}"
+                + "th,td{border:1px solid #ccc;padding:4px 8px;text-align:left}td.n{text-align:right}"
+                + ".PASSED{color:#070}.FAILED{color:#b00}pre{white-space:pre-wrap;margin:0}</style></head><body>\n");
+        out.write("<h1>API test dashboard</h1>\n");
+        out.write(String.format("<p class=\"%s\"><b>%d scenarios: %d passed, %d failed, %d other (%.1f%% passed) in %.1f s</b></p>%n",
+                failed > 0 ? "FAILED" : "PASSED", summary.total(), passed, failed, summary.total() - passed - failed,
+                summary.total() == 0 ? 0 : 100.0 * passed / summary.total(), summary.wallMillis() / 1000.0));
+        out.write("<table><tr><th>Status</th><th>Scenarios</th></tr>\n");
+        for (Map.Entry<String, Long> status : summary.statuses().entrySet()) {
+            out.write("<tr><td class=\"" + escape(status.getKey()) + "\">" + escape(status.getKey())
+                    + "</td><td class=\"n\">" + status.getValue() + "</td></tr>\n");
+        }
+        out.write("</table>\n<h2>Scenario duration</h2>\n<table>" + durationHeader() + "<tr><td>all</td>"
+                + durationCells(summary.durations()) + "</tr></table>\n");
+
+        out.write("<h2>Features</h2>\n<table><tr><th>Feature</th><th>Passed</th><th>Failed</th>"
+                + durationHeader().replace("<tr><th></th>", "") + "\n");
+        for (Map.Entry<String, RunSummary.Feature> feature : summary.features().entrySet()) {
+            out.write("<tr><td>" + escape(feature.getKey()) + "</td><td class=\"n\">" + feature.getValue().count("PASSED")
+                    + "</td><td class=\"n\">" + feature.getValue().count("FAILED") + "</td>"
+                    + durationCells(feature.getValue().durations()) + "</tr>\n");
+        }
+        out.write("</table>\n<h2>Slowest scenarios</h2>\n<table><tr><th>Scenario</th><th>Location</th><th>Status</th><th>ms</th></tr>\n");
+        for (ScenarioEvent event : summary.slowest()) {
+            out.write(scenarioRow(event, String.format("<td class=\"n\">%.1f</td>", event.durationMicros() / 1000.0)));
+        }
+        out.write("</table>\n");
+
+        List<ScenarioEvent> failures = summary.failures();
+        if (!failures.isEmpty()) {
+            out.write("<h2>Failures</h2>\n<table><tr><th>Scenario</th><th>Location</th><th>Status</th><th>Step and error</th></tr>\n");
+            for (ScenarioEvent event : failures) {
+                out.write(scenarioRow(event, "<td>" + escape(String.valueOf(event.failedStep()))
+                        + "<pre>" + escape(String.valueOf(event.error())) + "</pre></td>"));
+            }
+            out.write("</table>\n");
+        }
+        out.write("</body></html>\n");
+    }
+
+    private static String scenarioRow(ScenarioEvent event, String lastCell) {
+        return "<tr><td>" + escape(event.name()) + "</td><td>" + escape(event.feature() + ":" + event.line())
+                + "</td><td class=\"" + escape(event.status()) + "\">" + escape(event.status()) + "</td>" + lastCell + "</tr>\n";
+    }
+
+    private static String durationHeader() {
+        return "<tr><th></th><th>Count</th><th>Mean ms</th><th>p50 ms</th><th>p90 ms</th><th>p99 ms</th><th>Max ms</th></tr>";
+    }
+
+    private static String durationCells(LatencyHistogram durations) {
+        return String.format("<td class=\"n\">%d</td><td class=\"n\">%.1f</td><td class=\"n\">%.1f</td><td class=\"n\">%.1f</td>"
+                        + "<td class=\"n\">%.1f</td><td class=\"n\">%.1f</td>",
+                durations.count(), durations.meanMicros() / 1000.0, durations.percentileMillis(50),
+                durations.percentileMillis(90), durations.percentileMillis(99), durations.maxMicros() / 1000.0);
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.support.report;
+
+import com.example.support.load.LatencyHistogram;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pass/fail counts and duration aggregates of a run, built one scenario at a time. It keeps counts and
+ * a duration histogram per status and per feature, the {@value #SLOWEST} slowest scenarios and the
+ * first {@value #MAX_FAILURES} failures, so its size depends on the number of features, not scenarios.
+ * Scenarios may be recorded from several threads at once.
+ */
+public final class RunSummary {
+    static final int SLOWEST = 10;
+    static final int MAX_FAILURES = 50;
+
+    private final Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LatencyHistogram durations = new LatencyHistogram();
+    private final Map<String, Feature> features = new ConcurrentHashMap<>();
+    private final PriorityQueue<ScenarioEvent> slowest = new PriorityQueue<>(Comparator.comparingLong(ScenarioEvent::durationMicros));
+    private final List<ScenarioEvent> failures = new ArrayList<>();
+    private long firstStartedAtMillis = Long.MAX_VALUE;
+    private long lastFinishedAtMillis;
+
+    /**
+     * Counts and durations of one feature file.
+     */
+    public static final class Feature {
+        private final Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final LatencyHistogram durations = new LatencyHistogram();
+
+        public long count(String status) {
+            LongAdder count = statuses.get(status);
+            return count == null ? 0 : count.sum();
+        }
+
+        public LatencyHistogram durations() {
+            return durations;
+        }
+    }
+
+    public void record(ScenarioEvent event) {
+        statuses.computeIfAbsent(event.status(), s -> new LongAdder()).increment();
+        durations.recordMicros(event.durationMicros());
+        Feature feature = features.computeIfAbsent(event.feature(), f -> new Feature());
+        feature.statuses.computeIfAbsent(event.status(), s -> new LongAdder()).increment();
+        feature.durations.recordMicros(event.durationMicros());
+        synchronized (this) {
+            slowest.add(event);
+            if (slowest.size() > SLOWEST) {
+                slowest.poll();
+            }
+            if ("FAILED".equals(event.status()) && failures.size() < MAX_FAILURES) {
+                failures.add(event);
+            }
+            firstStartedAtMillis = Math.min(firstStartedAtMillis, event.startedAtMillis());
+            lastFinishedAtMillis = Math.max(lastFinishedAtMillis, event.startedAtMillis() + event.durationMicros() / 1000);
+        }
+    }
+
+    public long total() {
+        return durations.count();
+    }
+
+    public long count(String status) {
+        LongAdder count = statuses.get(status);
+        return count == null ? 0 : count.sum();
+    }
+
+    public Map<String, Long> statuses() {
+        Map<String, Long> counts = new TreeMap<>();
+        statuses.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+
+    public LatencyHistogram durations() {
+        return durations;
+    }
+
+    public Map<String, Feature> features() {
+        return new TreeMap<>(features);
+    }
+
+    /**
+     * The slowest scenarios, slowest first.
+     */
+    public synchronized List<ScenarioEvent> slowest() {
+        List<ScenarioEvent> events = new ArrayList<>(slowest);
+        events.sort(Comparator.comparingLong(ScenarioEvent::durationMicros).reversed());
+        return events;
+    }
+
+    public synchronized List<ScenarioEvent> failures() {
+        return new ArrayList<>(failures);
+    }
+
+    /**
+     * Wall time from the first scenario's start to the last one's end.
+     */
+    public synchronized long wallMillis() {
+        return total() == 0 ? 0 : lastFinishedAtMillis - firstStartedAtMillis;
+    }
+
+    JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("type", "summary");
+        json.addProperty("scenarios", total());
+        JsonObject counts = new JsonObject();
+        statuses().forEach(counts::addProperty);
+        json.add("statuses", counts);
+        json.addProperty("wallMillis", wallMillis());
+        json.add("durationMillis", durationsJson(durations));
+        JsonObject byFeature = new JsonObject();
+        features().forEach((name, feature) -> {
+            JsonObject featureJson = new JsonObject();
+            JsonObject featureCounts = new JsonObject();
+            feature.statuses.forEach((status, count) -> featureCounts.addProperty(status, count.sum()));
+            featureJson.add("statuses", featureCounts);
+            featureJson.add("durationMillis", durationsJson(feature.durations));
+            byFeature.add(name, featureJson);
+        });
+        json.add("features", byFeature);
+        JsonArray slowestJson = new JsonArray();
+        slowest().forEach(event -> slowestJson.add(event.uri() + ":" + event.line() + " " + event.name()));
+        json.add("slowest", slowestJson);
+        return json;
+    }
+
+    private static JsonObject durationsJson(LatencyHistogram histogram) {
+        JsonObject json = new JsonObject();
+        json.addProperty("mean", histogram.meanMicros() / 1000.0);
+        json.addProperty("p50", histogram.percentileMillis(50));
+        json.addProperty("p90", histogram.percentileMillis(90));
+        json.addProperty("p99", histogram.percentileMillis(99));
+        json.addProperty("max", histogram.maxMicros() / 1000.0);
+        return json;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.support.report;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One finished scenario as written to the NDJSON report: one line per scenario, in the order they
+ * finished. {@code failedStep} and {@code error} are null unless the scenario failed.
+ */
+public record ScenarioEvent(String uri, int line, String name, List<String> tags, String status,
+                            long startedAtMillis, long durationMicros, String failedStep, String error) {
+    static final String TYPE = "scenario";
+
+    /**
+     * The feature file name, without its directories.
+     */
+    public String feature() {
+        return uri.substring(uri.lastIndexOf('/') + 1);
+    }
+
+    JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("type", TYPE);
+        json.addProperty("uri", uri);
+        json.addProperty("line", line);
+        json.addProperty("name", name);
+        JsonArray tagArray = new JsonArray();
+        tags.forEach(tagArray::add);
+        json.add("tags", tagArray);
+        json.addProperty("status", status);
+        json.addProperty("startedAt", startedAtMillis);
+        json.addProperty("durationMicros", durationMicros);
+        if (failedStep != null) {
+            json.addProperty("failedStep", failedStep);
+        }
+        if (error != null) {
+            json.addProperty("error", error);
+        }
+        return json;
+    }
+
+    static ScenarioEvent fromJson(JsonObject json) {
+        List<String> tags = new ArrayList<>();
+        json.getAsJsonArray("tags").forEach(tag -> tags.add(tag.getAsString()));
+        return new ScenarioEvent(json.get("uri").getAsString(), json.get("line").getAsInt(),
+                json.get("name").getAsString(), tags, json.get("status").getAsString(),
+                json.get("startedAt").getAsLong(), json.get("durationMicros").getAsLong(),
+                text(json.get("failedStep")), text(json.get("error")));
+    }
+
+    private static String text(JsonElement element) {
+        return element == null || element.isJsonNull() ? null : element.getAsString();
+    }
+}
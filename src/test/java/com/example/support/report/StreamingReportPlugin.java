@@ -0,0 +1,159 @@
+package com.example.support.report;
+
+import com.example.support.ThreadPools;
+import com.google.gson.GsonBuilder;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Result;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestRunStarted;
+import io.cucumber.plugin.event.TestStepFinished;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cucumber plugin that appends a line of JSON to {@code events.ndjson} as each scenario finishes,
+ * and writes {@code summary.json} when the run ends, both in its output directory
+ * ({@code target/cucumber-reports} unless one is given after the plugin name). The last line of
+ * {@code events.ndjson} is the summary too.
+ * <p>
+ * Scenario threads hand their lines to a single writer thread through a queue of
+ * {@code cucumber.report.buffer} (1024) lines. When the writer falls behind, scenarios wait for room
+ * rather than the queue growing. The {@link RunSummary} is updated as each scenario finishes, so
+ * nothing has to read the events back at the end. {@link Dashboard} turns the events into HTML.
+ */
+public class StreamingReportPlugin implements ConcurrentEventListener {
+    static final String EVENTS_FILE = "events.ndjson";
+    static final String SUMMARY_FILE = "summary.json";
+    private static final int MAX_ERROR_LENGTH = 2000;
+    // Compared by identity, so no scenario line can end the writer
+    private static final String END = new String("end");
+
+    private final Path outputDir;
+    private final BlockingQueue<String> queue = new ArrayBlockingQueue<>(Integer.getInteger("cucumber.report.buffer", 1024));
+    private final Map<UUID, String> failedSteps = new ConcurrentHashMap<>();
+    private final RunSummary summary = new RunSummary();
+    private Thread writer;
+    private volatile IOException writeFailure;
+
+    public StreamingReportPlugin() {
+        this(new File("target/cucumber-reports"));
+    }
+
+    public StreamingReportPlugin(File outputDir) {
+        this.outputDir = outputDir.toPath();
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestRunStarted.class, event -> start());
+        publisher.registerHandlerFor(TestStepFinished.class, this::onStepFinished);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onScenarioFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> finish());
+    }
+
+    private void start() {
+        BufferedWriter out;
+        try {
+            Files.createDirectories(outputDir);
+            out = Files.newBufferedWriter(outputDir.resolve(EVENTS_FILE), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create " + outputDir.resolve(EVENTS_FILE), e);
+        }
+        writer = ThreadPools.daemonThreads("report-writer").newThread(() -> writeLines(out));
+        writer.start();
+    }
+
+    private void onStepFinished(TestStepFinished event) {
+        if (event.getResult().getStatus() == Status.FAILED && event.getTestStep() instanceof PickleStepTestStep step) {
+            failedSteps.putIfAbsent(event.getTestCase().getId(), step.getStep().getKeyword() + step.getStep().getText());
+        }
+    }
+
+    private void onScenarioFinished(TestCaseFinished event) {
+        TestCase testCase = event.getTestCase();
+        Result result = event.getResult();
+        long durationMicros = result.getDuration().toNanos() / 1000;
+        ScenarioEvent scenario = new ScenarioEvent(testCase.getUri().toString(), testCase.getLocation().getLine(),
+                testCase.getName(), testCase.getTags(), result.getStatus().name(),
+                event.getInstant().toEpochMilli() - durationMicros / 1000, durationMicros,
+                failedSteps.remove(testCase.getId()), errorOf(result));
+        summary.record(scenario);
+        enqueue(scenario.toJson().toString());
+    }
+
+    private void finish() {
+        enqueue(summary.toJson().toString());
+        enqueue(END);
+        try {
+            writer.join();
+            Files.writeString(outputDir.resolve(SUMMARY_FILE),
+                    new GsonBuilder().setPrettyPrinting().create().toJson(summary.toJson()), StandardCharsets.UTF_8);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while writing the report", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write " + outputDir.resolve(SUMMARY_FILE), e);
+        }
+        if (writeFailure != null) {
+            throw new UncheckedIOException("Could not write " + outputDir.resolve(EVENTS_FILE), writeFailure);
+        }
+    }
+
+    private void enqueue(String line) {
+        try {
+            queue.put(line);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing a report event", e);
+        }
+    }
+
+    private void writeLines(BufferedWriter out) {
+        try (out) {
+            for (String line = queue.take(); line != END; line = queue.take()) {
+                if (writeFailure != null) {
+                    // Keep draining so scenario threads never wait on a writer that has given up
+                    continue;
+                }
+                try {
+                    out.write(line);
+                    out.write('\n');
+                    if (queue.isEmpty()) {
+                        out.flush();
+                    }
+                } catch (IOException e) {
+                    writeFailure = e;
+                }
+            }
+        } catch (IOException e) {
+            writeFailure = e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String errorOf(Result result) {
+        Throwable error = result.getError();
+        if (error == null || result.getStatus() != Status.FAILED) {
+            return null;
+        }
+        String message = error.getMessage() == null ? error.getClass().getName() : error.getMessage();
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) + "..." : message;
+    }
+}
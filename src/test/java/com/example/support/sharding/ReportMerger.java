@@ -0,0 +1,191 @@
+package com.example.support.sharding;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Combines the Cucumber JSON and JUnit XML reports of several shards into one of each.
+ * Each input directory is a shard's target/cucumber-reports. In the JSON report, features split across
+ * shards are joined back into one feature with their scenarios in file order, each still preceded by
+ * its Background. In the JUnit report all test cases go into one suite whose counts and time are the
+ * sums over the shards.
+ * <pre>
+ * mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.support.sharding.ReportMerger \
+ *     -Dexec.args="target/cucumber-reports shard-1 shard-2 shard-3"
+ * </pre>
+ */
+public final class ReportMerger {
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+
+    private ReportMerger() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: ReportMerger <output dir> <shard report dir>...");
+            System.exit(2);
+        }
+        Path output = Path.of(args[0]);
+        List<Path> shards = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            shards.add(Path.of(args[i]));
+        }
+        try {
+            Files.createDirectories(output);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create " + output, e);
+        }
+        int features = mergeJson(shards, output.resolve("report.json"));
+        int testCases = mergeJUnit(shards, output.resolve("report.xml"));
+        System.out.printf("Merged %d shards into %s: %d features, %d test cases%n", shards.size(), output, features, testCases);
+    }
+
+    static int mergeJson(List<Path> shards, Path target) {
+        Map<String, JsonObject> features = new TreeMap<>();
+        Map<String, List<List<JsonElement>>> blocks = new TreeMap<>();
+        for (Path shard : shards) {
+            Path report = shard.resolve("report.json");
+            if (!Files.isRegularFile(report)) {
+                continue;
+            }
+            for (JsonElement element : readJson(report)) {
+                JsonObject feature = element.getAsJsonObject();
+                String uri = feature.get("uri").getAsString();
+                features.putIfAbsent(uri, feature);
+                blocks.computeIfAbsent(uri, u -> new ArrayList<>()).addAll(scenarioBlocks(feature.get("elements")));
+            }
+        }
+        JsonArray merged = new JsonArray();
+        features.forEach((uri, feature) -> {
+            List<List<JsonElement>> scenarios = blocks.get(uri);
+            scenarios.sort(Comparator.comparingInt(ReportMerger::lineOf));
+            JsonArray elements = new JsonArray();
+            scenarios.forEach(block -> block.forEach(elements::add));
+            feature.add("elements", elements);
+            merged.add(feature);
+        });
+        try (Writer writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            GSON.toJson(merged, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write " + target, e);
+        }
+        return merged.size();
+    }
+
+    /**
+     * Groups a feature's elements into scenarios, each with the Background that precedes it.
+     */
+    private static List<List<JsonElement>> scenarioBlocks(JsonElement elements) {
+        List<List<JsonElement>> blocks = new ArrayList<>();
+        if (elements == null) {
+            return blocks;
+        }
+        List<JsonElement> current = new ArrayList<>();
+        for (JsonElement element : elements.getAsJsonArray()) {
+            current.add(element);
+            if (!"background".equals(element.getAsJsonObject().get("type").getAsString())) {
+                blocks.add(current);
+                current = new ArrayList<>();
+            }
+        }
+        return blocks;
+    }
+
+    private static int lineOf(List<JsonElement> block) {
+        return block.get(block.size() - 1).getAsJsonObject().get("line").getAsInt();
+    }
+
+    private static JsonArray readJson(Path report) {
+        try (Reader reader = Files.newBufferedReader(report, StandardCharsets.UTF_8)) {
+            return JsonParser.parseReader(reader).getAsJsonArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + report, e);
+        }
+    }
+
+    static int mergeJUnit(List<Path> shards, Path target) {
+        try {
+            DocumentBuilder builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+            Document merged = builder.newDocument();
+            Element suite = merged.createElement("testsuite");
+            suite.setAttribute("name", "Cucumber");
+            merged.appendChild(suite);
+            long[] counts = new long[4];
+            double time = 0;
+            int testCases = 0;
+            String[] countAttributes = {"tests", "skipped", "failures", "errors"};
+            for (Path shard : shards) {
+                Path report = shard.resolve("report.xml");
+                if (!Files.isRegularFile(report)) {
+                    continue;
+                }
+                Element shardSuite = builder.parse(report.toFile()).getDocumentElement();
+                for (int i = 0; i < countAttributes.length; i++) {
+                    counts[i] += parseLong(shardSuite.getAttribute(countAttributes[i]));
+                }
+                time += parseDouble(shardSuite.getAttribute("time"));
+                NodeList children = shardSuite.getChildNodes();
+                for (int i = 0; i < children.getLength(); i++) {
+                    Node child = children.item(i);
+                    if (child.getNodeType() == Node.ELEMENT_NODE && "testcase".equals(child.getNodeName())) {
+                        suite.appendChild(merged.importNode(child, true));
+                        testCases++;
+                    }
+                }
+            }
+            suite.setAttribute("time", String.format(Locale.ROOT, "%.3f", time));
+            for (int i = 0; i < countAttributes.length; i++) {
+                suite.setAttribute(countAttributes[i], Long.toString(counts[i]));
+            }
+            Transformer transformer = TransformerFactory.newInstance().newTransformer();
+            transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+            transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+            transformer.transform(new DOMSource(merged), new StreamResult(target.toFile()));
+            return testCases;
+        } catch (ParserConfigurationException | TransformerException e) {
+            throw new IllegalStateException("Could not merge JUnit reports into " + target, e);
+        } catch (SAXException | IOException e) {
+            throw new IllegalStateException("Could not read a shard JUnit report", e);
+        }
+    }
+
+    private static long parseLong(String value) {
+        return value.isEmpty() ? 0 : Long.parseLong(value);
+    }
+
+    private static double parseDouble(String value) {
+        return value.isEmpty() ? 0 : Double.parseDouble(value);
+    }
+}
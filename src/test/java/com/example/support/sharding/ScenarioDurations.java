@@ -0,0 +1,116 @@
+package com.example.support.sharding;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Historical scenario durations read from a Cucumber JSON report, keyed by scenario location
+ * ("features/basic_api_operations.feature:12"). A scenario's duration is the sum of its before and
+ * after hooks, its Background steps and its own steps. For Scenario Outline examples the location
+ * is the examples row, so each row keeps its own duration.
+ */
+public final class ScenarioDurations {
+    private static final String CLASSPATH_PREFIX = "classpath:";
+
+    private final Map<String, Long> nanos;
+
+    private ScenarioDurations(Map<String, Long> nanos) {
+        this.nanos = Collections.unmodifiableMap(nanos);
+    }
+
+    public static ScenarioDurations empty() {
+        return new ScenarioDurations(Map.of());
+    }
+
+    /**
+     * Reads the report, or returns no durations if it does not exist.
+     */
+    public static ScenarioDurations read(Path report) {
+        if (!Files.isRegularFile(report)) {
+            return empty();
+        }
+        try (Reader reader = Files.newBufferedReader(report, StandardCharsets.UTF_8)) {
+            return new ScenarioDurations(parse(JsonParser.parseReader(reader).getAsJsonArray()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read scenario durations from " + report, e);
+        }
+    }
+
+    private static Map<String, Long> parse(JsonArray features) {
+        Map<String, Long> nanos = new HashMap<>();
+        for (JsonElement feature : features) {
+            String uri = feature.getAsJsonObject().get("uri").getAsString();
+            long background = 0;
+            JsonElement elements = feature.getAsJsonObject().get("elements");
+            if (elements == null) {
+                continue;
+            }
+            for (JsonElement element : elements.getAsJsonArray()) {
+                JsonObject object = element.getAsJsonObject();
+                if ("background".equals(object.get("type").getAsString())) {
+                    background = sum(object.get("steps"));
+                    continue;
+                }
+                long total = background + sum(object.get("before")) + sum(object.get("steps")) + sum(object.get("after"));
+                nanos.put(key(uri, object.get("line").getAsInt()), total);
+                background = 0;
+            }
+        }
+        return nanos;
+    }
+
+    private static long sum(JsonElement steps) {
+        long total = 0;
+        if (steps != null) {
+            for (JsonElement step : steps.getAsJsonArray()) {
+                JsonObject result = step.getAsJsonObject().getAsJsonObject("result");
+                if (result != null && result.has("duration")) {
+                    total += result.get("duration").getAsLong();
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * The location key of a scenario, with any "classpath:" prefix removed from the feature URI.
+     */
+    public static String key(String featureUri, int line) {
+        String path = featureUri.startsWith(CLASSPATH_PREFIX) ? featureUri.substring(CLASSPATH_PREFIX.length()) : featureUri;
+        return path + ":" + line;
+    }
+
+    public boolean isEmpty() {
+        return nanos.isEmpty();
+    }
+
+    /**
+     * The recorded duration of the scenario, or -1 if it has none.
+     */
+    public long nanosOf(String key) {
+        return nanos.getOrDefault(key, -1L);
+    }
+
+    /**
+     * Mean of the recorded durations, used as the estimate for scenarios without history.
+     */
+    public long meanNanos() {
+        return nanos.isEmpty() ? 0 : (long) nanos.values().stream().mapToLong(Long::longValue).average().orElse(0);
+    }
+
+    public Map<String, Long> asMap() {
+        return nanos;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.support.sharding;
+
+/**
+ * One of {@code total} shards, numbered from 1, parsed from "i/N" as in {@code -Dcucumber.shard=2/3}.
+ */
+public record Shard(int index, int total) {
+
+    public Shard {
+        if (total < 1 || index < 1 || index > total) {
+            throw new IllegalArgumentException("Invalid shard " + index + "/" + total + ", expected i/N with 1 <= i <= N");
+        }
+    }
+
+    public static Shard parse(String value) {
+        String[] parts = value.trim().split("/");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid shard '" + value + "', expected i/N such as 1/3");
+        }
+        try {
+            return new Shard(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid shard '" + value + "', expected i/N such as 1/3", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return index + "/" + total;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.support.sharding;
+
+import io.cucumber.tagexpressions.Expression;
+import io.cucumber.tagexpressions.TagExpressionParser;
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.ClasspathResourceSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps only the Cucumber scenarios assigned to this node's shard when {@code -Dcucumber.shard=i/N} is set.
+ * Registered through META-INF/services, so it sees the tree after the tag filter has been applied. On the
+ * first scenario it plans all scenarios in the tree with {@link ShardPlanner}, using durations from
+ * {@code cucumber.shard.history} (target/cucumber-reports/report.json by default). Every node discovers the
+ * same scenarios and reads the same history, so the shards are disjoint and together cover the whole run.
+ */
+public class ShardFilter implements PostDiscoveryFilter {
+    private final Map<TestDescriptor, Set<String>> planByRoot = new WeakHashMap<>();
+
+    @Override
+    public synchronized FilterResult apply(TestDescriptor descriptor) {
+        String value = System.getProperty("cucumber.shard", "");
+        if (value.isBlank() || !descriptor.isTest() || !isCucumber(descriptor.getUniqueId())) {
+            return FilterResult.included("not sharded");
+        }
+        Shard shard = Shard.parse(value);
+        Set<String> mine = planByRoot.computeIfAbsent(rootOf(descriptor), root -> plan(root, shard));
+        return mine.contains(keyOf(descriptor))
+                ? FilterResult.included("in shard " + shard)
+                : FilterResult.excluded("not in shard " + shard);
+    }
+
+    private static Set<String> plan(TestDescriptor root, Shard shard) {
+        Set<String> keys = new LinkedHashSet<>();
+        Set<String> tagExcluded = new LinkedHashSet<>();
+        collect(root, tagFilter(), keys, tagExcluded);
+        Path history = Path.of(System.getProperty("cucumber.shard.history", "target/cucumber-reports/report.json"));
+        ScenarioDurations durations = ScenarioDurations.read(history);
+        List<ShardPlanner.Bin> plan = ShardPlanner.plan(keys, durations, shard.total());
+
+        StringBuilder summary = new StringBuilder(String.format("Shard plan for %d scenarios over %d shards (%s):",
+                keys.size(), shard.total(), durations.isEmpty() ? "no history, even split" : "history from " + history));
+        for (ShardPlanner.Bin bin : plan) {
+            summary.append(System.lineSeparator()).append(String.format("  %s %d/%d: %d scenarios, estimated %.1f s",
+                    bin.index() == shard.index() ? "*" : " ", bin.index(), shard.total(), bin.scenarios().size(),
+                    bin.estimatedNanos() / (double) TimeUnit.SECONDS.toNanos(1)));
+        }
+        System.out.println(summary);
+        Set<String> mine = new LinkedHashSet<>(plan.get(shard.index() - 1).scenarios());
+        if (shard.index() == 1) {
+            mine.addAll(tagExcluded);
+        }
+        return mine;
+    }
+
+    /**
+     * Collects the scenarios to plan. Scenarios that the tag expression excludes are still in the tree,
+     * because Cucumber reports them as skipped rather than removing them. They take no time, so they
+     * are kept out of the plan and left to shard 1.
+     */
+    private static void collect(TestDescriptor descriptor, Expression tags, Set<String> keys, Set<String> tagExcluded) {
+        if (descriptor.isTest() && isCucumber(descriptor.getUniqueId())) {
+            List<String> scenarioTags = new ArrayList<>();
+            descriptor.getTags().forEach(tag -> scenarioTags.add("@" + tag.getName()));
+            (tags.evaluate(scenarioTags) ? keys : tagExcluded).add(keyOf(descriptor));
+        }
+        for (TestDescriptor child : descriptor.getChildren()) {
+            collect(child, tags, keys, tagExcluded);
+        }
+    }
+
+    private static Expression tagFilter() {
+        String expression = System.getProperty("cucumber.filter.tags", "");
+        return expression.isBlank() ? scenarioTags -> true : TagExpressionParser.parse(expression);
+    }
+
+    /**
+     * The scenario's location as used in Cucumber JSON reports, or its unique id if it has no classpath location.
+     */
+    public static String keyOf(TestDescriptor descriptor) {
+        TestSource source = descriptor.getSource().orElse(null);
+        if (source instanceof ClasspathResourceSource resource && resource.getPosition().isPresent()) {
+            return ScenarioDurations.key(resource.getClasspathResourceName(), resource.getPosition().get().getLine());
+        }
+        return descriptor.getUniqueId().toString();
+    }
+
+    public static boolean isCucumber(UniqueId id) {
+        for (UniqueId.Segment segment : id.getSegments()) {
+            if ("engine".equals(segment.getType()) && "cucumber".equals(segment.getValue())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static TestDescriptor rootOf(TestDescriptor descriptor) {
+        TestDescriptor current = descriptor;
+        while (current.getParent().isPresent()) {
+            current = current.getParent().get();
+        }
+        return current;
+    }
+}
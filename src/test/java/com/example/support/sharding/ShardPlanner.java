@@ -0,0 +1,70 @@
+package com.example.support.sharding;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Splits scenarios into balanced shards with the longest-processing-time-first rule: scenarios are
+ * taken from longest to shortest and each goes to the shard with the least estimated time so far.
+ * The result is within 4/3 of the best possible longest shard. Scenarios without history are
+ * estimated at the mean of the known durations. Ties are broken by scenario key and shard number,
+ * so every node computes the same plan from the same report and scenario set.
+ */
+public final class ShardPlanner {
+
+    private ShardPlanner() {
+    }
+
+    /**
+     * One planned shard: its scenario keys and their estimated total time.
+     */
+    public record Bin(int index, List<String> scenarios, long estimatedNanos) {
+    }
+
+    public static List<Bin> plan(Collection<String> scenarioKeys, ScenarioDurations durations, int shards) {
+        long fallback = durations.meanNanos();
+        List<Estimate> estimates = new ArrayList<>();
+        for (String key : scenarioKeys) {
+            long nanos = durations.nanosOf(key);
+            estimates.add(new Estimate(key, nanos >= 0 ? nanos : fallback));
+        }
+        estimates.sort(Comparator.comparingLong(Estimate::nanos).reversed().thenComparing(Estimate::key));
+
+        List<MutableBin> bins = new ArrayList<>();
+        PriorityQueue<MutableBin> lightest = new PriorityQueue<>(
+                Comparator.comparingLong((MutableBin bin) -> bin.nanos).thenComparingInt(bin -> bin.index));
+        for (int i = 1; i <= shards; i++) {
+            MutableBin bin = new MutableBin(i);
+            bins.add(bin);
+            lightest.add(bin);
+        }
+        for (Estimate estimate : estimates) {
+            MutableBin bin = lightest.poll();
+            bin.scenarios.add(estimate.key());
+            bin.nanos += estimate.nanos();
+            lightest.add(bin);
+        }
+
+        List<Bin> plan = new ArrayList<>(shards);
+        for (MutableBin bin : bins) {
+            plan.add(new Bin(bin.index, List.copyOf(bin.scenarios), bin.nanos));
+        }
+        return plan;
+    }
+
+    private record Estimate(String key, long nanos) {
+    }
+
+    private static final class MutableBin {
+        final int index;
+        final List<String> scenarios = new ArrayList<>();
+        long nanos;
+
+        MutableBin(int index) {
+            this.index = index;
+        }
+    }
+}
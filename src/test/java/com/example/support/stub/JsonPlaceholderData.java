@@ -0,0 +1,155 @@
+package com.example.support.stub;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-only copy of the JSONPlaceholder users, posts and comments used by the local server.
+ * Users carry the real names and e-mail addresses (a subset of the real fields); posts and
+ * comments follow the real id layout: ten posts per user and five comments per post.
+ * Collections and single items are serialised once up front so GETs only copy bytes.
+ */
+final class JsonPlaceholderData {
+    static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+
+    private static final String[][] USERS = {
+            {"Leanne Graham", "Bret", "Sincere@april.biz"},
+            {"Ervin Howell", "Antonette", "Shanna@melissa.tv"},
+            {"Clementine Bauch", "Samantha", "Nathan@yesenia.net"},
+            {"Patricia Lebsack", "Karianne", "Julianne.OConner@kory.org"},
+            {"Chelsey Dietrich", "Kamren", "Lucio_Hettinger@annie.ca"},
+            {"Mrs. Dennis Schulist", "Leopoldo_Corkery", "Karley_Dach@jasper.info"},
+            {"Kurtis Weissnat", "Elwyn.Skiles", "Telly.Hoeger@billy.biz"},
+            {"Nicholas Runolfsdottir V", "Maxime_Nienow", "Sherwood@rosamond.me"},
+            {"Glenna Reichert", "Delphine", "Chaim_McDermott@dana.io"},
+            {"Clementina DuBuque", "Moriah.Stanton", "Rey.Padberg@karina.biz"}
+    };
+    private static final int POSTS_PER_USER = 10;
+    private static final int COMMENTS_PER_POST = 5;
+    private static final int MAX_CACHED_FILTERS = 1024;
+
+    private final Map<String, Resource> resources = new LinkedHashMap<>();
+
+    JsonPlaceholderData() {
+        List<JsonObject> users = new ArrayList<>();
+        List<JsonObject> posts = new ArrayList<>();
+        List<JsonObject> comments = new ArrayList<>();
+
+        for (int u = 0; u < USERS.length; u++) {
+            JsonObject user = new JsonObject();
+            user.addProperty("id", u + 1);
+            user.addProperty("name", USERS[u][0]);
+            user.addProperty("username", USERS[u][1]);
+            user.addProperty("email", USERS[u][2]);
+            users.add(user);
+        }
+        for (int id = 1; id <= USERS.length * POSTS_PER_USER; id++) {
+            JsonObject post = new JsonObject();
+            post.addProperty("userId", (id - 1) / POSTS_PER_USER + 1);
+            post.addProperty("id", id);
+            post.addProperty("title", "post " + id + " title");
+            post.addProperty("body", "body of post " + id);
+            posts.add(post);
+        }
+        for (int id = 1; id <= posts.size() * COMMENTS_PER_POST; id++) {
+            JsonObject comment = new JsonObject();
+            comment.addProperty("postId", (id - 1) / COMMENTS_PER_POST + 1);
+            comment.addProperty("id", id);
+            comment.addProperty("name", "comment " + id);
+            comment.addProperty("email", "commenter" + id + "@example.com");
+            comment.addProperty("body", "body of comment " + id);
+            comments.add(comment);
+        }
+
+        resources.put("users", new Resource(users));
+        resources.put("posts", new Resource(posts));
+        resources.put("comments", new Resource(comments));
+    }
+
+    Resource resource(String name) {
+        return resources.get(name);
+    }
+
+    static byte[] toBytes(JsonElement element) {
+        return GSON.toJson(element).getBytes(StandardCharsets.UTF_8);
+    }
+
+    static final class Resource {
+        private final List<JsonObject> items;
+        private final List<byte[]> itemBytes = new ArrayList<>();
+        private final Map<Map<String, String>, byte[]> filteredBytes = new ConcurrentHashMap<>();
+        private final byte[] allBytes;
+
+        private Resource(List<JsonObject> items) {
+            this.items = Collections.unmodifiableList(items);
+            JsonArray all = new JsonArray();
+            for (JsonObject item : items) {
+                all.add(item);
+                itemBytes.add(toBytes(item));
+            }
+            this.allBytes = toBytes(all);
+        }
+
+        int size() {
+            return items.size();
+        }
+
+        boolean contains(int id) {
+            return id >= 1 && id <= items.size();
+        }
+
+        JsonObject item(int id) {
+            return items.get(id - 1).deepCopy();
+        }
+
+        byte[] itemBytes(int id) {
+            return itemBytes.get(id - 1);
+        }
+
+        byte[] allBytes() {
+            return allBytes;
+        }
+
+        byte[] filtered(Map<String, String> criteria) {
+            // The data never changes, so each distinct filter only has to be serialised once
+            byte[] cached = filteredBytes.get(criteria);
+            if (cached != null) {
+                return cached;
+            }
+            byte[] bytes = filter(criteria);
+            if (filteredBytes.size() < MAX_CACHED_FILTERS) {
+                filteredBytes.put(Map.copyOf(criteria), bytes);
+            }
+            return bytes;
+        }
+
+        private byte[] filter(Map<String, String> criteria) {
+            JsonArray matches = new JsonArray();
+            for (JsonObject item : items) {
+                boolean match = true;
+                for (Map.Entry<String, String> criterion : criteria.entrySet()) {
+                    JsonElement value = item.get(criterion.getKey());
+                    if (value == null || !value.isJsonPrimitive() || !value.getAsString().equals(criterion.getValue())) {
+                        match = false;
+                        break;
+                    }
+                }
+                if (match) {
+                    matches.add(item);
+                }
+            }
+            return toBytes(matches);
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package com.example.support.stub;
+
+import com.example.support.ThreadPools;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * In-process stand-in for https://jsonplaceholder.typicode.com.
+ * Serves /users, /posts and /comments, nested collections such as /posts/{id}/comments,
+ * and the same fake write semantics as the real API: POST answers 201 with the next id,
+ * PUT and PATCH echo the updated resource, DELETE answers 200, and nothing is persisted.
+ * Successful GETs carry a weak ETag, as the real API's do, and answer 304 to a matching If-None-Match.
+ * Two bulk endpoints that the real API does not have exercise large payloads: POST or PUT /uploads
+ * reads the body in chunks and answers with its size and SHA-256, and GET /downloads/{bytes} streams
+ * that many pseudo-random bytes, with their SHA-256 in an X-Content-SHA256 header.
+ * Requests are handled on a per-task executor (virtual threads when the JDK has them).
+ */
+public final class JsonPlaceholderServer {
+    private static final byte[] EMPTY_OBJECT = "{}".getBytes(StandardCharsets.UTF_8);
+    private static final long MAX_DOWNLOAD_BYTES = 16L << 30;
+    private static final byte[] DOWNLOAD_BLOCK = downloadBlock();
+    private static JsonPlaceholderServer shared;
+
+    static {
+        // The JDK server leaves Nagle's algorithm on, which stalls every small keep-alive response
+        // behind the client's delayed ACK for ~40 ms. Read once, when the first server is created.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final JsonPlaceholderData data = new JsonPlaceholderData();
+    private final Map<Long, String> downloadDigests = new ConcurrentHashMap<>();
+
+    private JsonPlaceholderServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * The JVM-wide server, started on first use and stopped when the JVM exits.
+     */
+    public static synchronized JsonPlaceholderServer shared() {
+        if (shared == null) {
+            shared = start(Integer.getInteger("api.stub.port", 0));
+            Runtime.getRuntime().addShutdownHook(new Thread(shared::stop, "json-placeholder-shutdown"));
+            System.out.println("Local JSONPlaceholder server listening on " + shared.baseUrl());
+        }
+        return shared;
+    }
+
+    public static JsonPlaceholderServer start(int port) {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+            ExecutorService executor = ThreadPools.newPerTaskExecutor("json-placeholder");
+            JsonPlaceholderServer stub = new JsonPlaceholderServer(server, executor);
+            server.createContext("/", stub::handle);
+            server.createContext("/uploads", stub::handleUpload);
+            server.createContext("/downloads/", stub::handleDownload);
+            server.setExecutor(executor);
+            server.start();
+            return stub;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the local JSONPlaceholder server", e);
+        }
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            Response response = route(exchange);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            if ("GET".equals(exchange.getRequestMethod()) && response.status == 200) {
+                String etag = etagOf(response.body);
+                exchange.getResponseHeaders().set("ETag", etag);
+                if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    exchange.sendResponseHeaders(304, -1);
+                    return;
+                }
+            }
+            exchange.sendResponseHeaders(response.status, response.body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response.body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleUpload(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            if (!"POST".equals(method) && !"PUT".equals(method)) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            MessageDigest digest = sha256();
+            byte[] buffer = new byte[64 * 1024];
+            long bytes = 0;
+            try (InputStream in = exchange.getRequestBody()) {
+                for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+                    digest.update(buffer, 0, read);
+                    bytes += read;
+                }
+            }
+            JsonObject received = new JsonObject();
+            received.addProperty("bytes", bytes);
+            received.addProperty("sha256", HexFormat.of().formatHex(digest.digest()));
+            received.addProperty("contentType", exchange.getRequestHeaders().getFirst("Content-Type"));
+            byte[] body = JsonPlaceholderData.toBytes(received);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(201, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleDownload(HttpExchange exchange) throws IOException {
+        try {
+            String[] segments = exchange.getRequestURI().getPath().split("/");
+            long bytes = segments.length == 3 ? parseSize(segments[2]) : -1;
+            if (!"GET".equals(exchange.getRequestMethod()) || bytes < 0 || bytes > MAX_DOWNLOAD_BYTES) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            // Generating the content twice is cheaper than holding it: once for the digest, once to send
+            String digest = downloadDigests.computeIfAbsent(bytes, size -> {
+                MessageDigest sha256 = sha256();
+                writeDownload(size, (block, length) -> sha256.update(block, 0, length));
+                return HexFormat.of().formatHex(sha256.digest());
+            });
+            exchange.getResponseHeaders().set("Content-Type", "application/octet-stream");
+            exchange.getResponseHeaders().set("X-Content-SHA256", digest);
+            exchange.sendResponseHeaders(200, bytes == 0 ? -1 : bytes);
+            try (OutputStream out = exchange.getResponseBody()) {
+                writeDownload(bytes, (block, length) -> {
+                    try {
+                        out.write(block, 0, length);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        } catch (UncheckedIOException e) {
+            // The client went away mid-download
+            throw e.getCause();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private interface BlockSink {
+        void accept(byte[] block, int length);
+    }
+
+    /**
+     * The download content: a fixed pseudo-random block repeated, cut to the requested size.
+     */
+    private static void writeDownload(long bytes, BlockSink sink) {
+        for (long remaining = bytes; remaining > 0; remaining -= DOWNLOAD_BLOCK.length) {
+            sink.accept(DOWNLOAD_BLOCK, (int) Math.min(DOWNLOAD_BLOCK.length, remaining));
+        }
+    }
+
+    private static byte[] downloadBlock() {
+        byte[] block = new byte[256 * 1024];
+        new SplittableRandom(42).nextBytes(block);
+        return block;
+    }
+
+    private static long parseSize(String segment) {
+        try {
+            return Long.parseLong(segment);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private Response route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String[] segments = exchange.getRequestURI().getPath().replaceAll("^/+|/+$", "").split("/");
+        JsonPlaceholderData.Resource resource = data.resource(segments[0]);
+        if (resource == null || segments.length > 3) {
+            return Response.notFound();
+        }
+
+        if (segments.length == 1) {
+            switch (method) {
+                case "GET": {
+                    Map<String, String> criteria = parseQuery(exchange.getRequestURI().getRawQuery());
+                    return new Response(200, criteria.isEmpty() ? resource.allBytes() : resource.filtered(criteria));
+                }
+                case "POST": {
+                    JsonObject created = readObject(exchange.getRequestBody());
+                    created.addProperty("id", resource.size() + 1);
+                    return new Response(201, JsonPlaceholderData.toBytes(created));
+                }
+                default:
+                    return Response.notFound();
+            }
+        }
+
+        int id = parseId(segments[1]);
+        if (segments.length == 3) {
+            // Nested collection, e.g. /posts/1/comments is /comments?postId=1
+            JsonPlaceholderData.Resource children = data.resource(segments[2]);
+            if (children == null || !"GET".equals(method)) {
+                return Response.notFound();
+            }
+            String parentField = segments[0].substring(0, segments[0].length() - 1) + "Id";
+            return new Response(200, children.filtered(Map.of(parentField, String.valueOf(id))));
+        }
+
+        switch (method) {
+            case "GET":
+                return resource.contains(id) ? new Response(200, resource.itemBytes(id)) : Response.notFound();
+            case "PUT": {
+                if (!resource.contains(id)) {
+                    // The real API fails replacing a resource that does not exist
+                    return new Response(500, EMPTY_OBJECT);
+                }
+                JsonObject replaced = readObject(exchange.getRequestBody());
+                replaced.addProperty("id", id);
+                return new Response(200, JsonPlaceholderData.toBytes(replaced));
+            }
+            case "PATCH": {
+                if (!resource.contains(id)) {
+                    return Response.notFound();
+                }
+                JsonObject patched = resource.item(id);
+                readObject(exchange.getRequestBody()).entrySet().forEach(e -> patched.add(e.getKey(), e.getValue()));
+                return new Response(200, JsonPlaceholderData.toBytes(patched));
+            }
+            case "DELETE":
+                return new Response(200, EMPTY_OBJECT);
+            default:
+                return Response.notFound();
+        }
+    }
+
+    /**
+     * A weak validator in the same form as the real API's Express server: body length and a hash, both in hex.
+     */
+    private static String etagOf(byte[] body) {
+        return "W/\"" + Integer.toHexString(body.length) + "-" + Integer.toHexString(Arrays.hashCode(body)) + "\"";
+    }
+
+    private static int parseId(String segment) {
+        try {
+            return Integer.parseInt(segment);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static JsonObject readObject(InputStream body) throws IOException {
+        String json = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        try {
+            JsonElement element = JsonParser.parseString(json);
+            return element.isJsonObject() ? element.getAsJsonObject() : new JsonObject();
+        } catch (JsonParseException e) {
+            return new JsonObject();
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new LinkedHashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                query.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+
+    private static final class Response {
+        private final int status;
+        private final byte[] body;
+
+        private Response(int status, byte[] body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        private static Response notFound() {
+            return new Response(404, EMPTY_OBJECT);
+        }
+    }
+}
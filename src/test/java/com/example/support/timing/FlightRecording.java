@@ -0,0 +1,56 @@
+package com.example.support.timing;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+/**
+ * An optional Flight Recorder recording spanning the whole suite.
+ * Enabled with {@code -Djfr.enabled=true}. It uses the JDK's "default" settings plus the
+ * {@link HttpCallEvent}s, and is dumped to {@code jfr.file} (target/jfr/api-tests.jfr) when the suite ends.
+ */
+public final class FlightRecording {
+    private static Recording recording;
+
+    private FlightRecording() {
+    }
+
+    public static synchronized void startIfEnabled() {
+        if (recording != null || !Boolean.getBoolean("jfr.enabled")) {
+            return;
+        }
+        try {
+            recording = new Recording(Configuration.getConfiguration("default"));
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Could not load the default JFR configuration", e);
+        }
+        recording.setName("api-tests");
+        recording.enable(HttpCallEvent.class).withoutThreshold();
+        recording.start();
+    }
+
+    public static synchronized void stopAndDump() {
+        if (recording == null) {
+            return;
+        }
+        Path file = Path.of(System.getProperty("jfr.file", "target/jfr/api-tests.jfr"));
+        try {
+            recording.stop();
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            recording.dump(file);
+            System.out.println("Flight recording written to " + file.toAbsolutePath());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the flight recording to " + file, e);
+        } finally {
+            recording.close();
+            recording = null;
+        }
+    }
+}
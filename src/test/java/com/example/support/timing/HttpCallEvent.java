@@ -0,0 +1,90 @@
+package com.example.support.timing;
+
+import com.example.support.http.ApiRequest;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Flight Recorder event for one HTTP call made by the step definitions.
+ * The event's own duration is the response time, from handing the request to the client until
+ * the whole response was back. It is committed when the response is disposed, by
+ * which time the body reads and assertions against it have happened too, so those phases are
+ * carried as separate fields.
+ */
+@Name("com.example.HttpCall")
+@Label("HTTP Call")
+@Category({"API Tests", "HTTP"})
+@Description("An HTTP call made by a step definition, with its phase durations")
+@StackTrace(false)
+public class HttpCallEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Endpoint")
+    @Description("Normalised endpoint, e.g. GET /users/{id}")
+    String endpoint;
+
+    @Label("Path")
+    String path;
+
+    @Label("Status")
+    int status;
+
+    @Label("Request Bytes")
+    @DataAmount
+    long requestBytes;
+
+    @Label("Response Bytes")
+    @Description("Body bytes read by the steps, or the Content-Length if the body was never read")
+    @DataAmount
+    long responseBytes;
+
+    @Label("Serialization")
+    @Timespan
+    long serializationTime;
+
+    @Label("Body Read")
+    @Timespan
+    long bodyReadTime;
+
+    @Label("Assertion")
+    @Timespan
+    long assertionTime;
+
+    /**
+     * Starts timing a call if the event is enabled in a running recording, otherwise returns null
+     * so that callers skip all further work for it.
+     */
+    public static HttpCallEvent beginIfEnabled(ApiRequest request, String endpoint, long serializationNanos) {
+        HttpCallEvent event = new HttpCallEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.method = request.method();
+        event.endpoint = endpoint;
+        event.path = request.path();
+        event.requestBytes = request.body() == null ? 0 : request.body().getBytes(StandardCharsets.UTF_8).length;
+        event.serializationTime = serializationNanos;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Commits an ended event for a response that is not wrapped in a {@link TimedResponse}, such as one
+     * of a batch. Its body read and assertion times stay zero.
+     */
+    public void commit(int status, long responseBytes) {
+        this.status = status;
+        this.responseBytes = responseBytes;
+        commit();
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.support.timing;
+
+/**
+ * The parts of an HTTP call made by a step that are timed separately.
+ */
+public enum Phase {
+    /** Building the request, including serialising the body. */
+    SERIALIZATION,
+    /**
+     * From sending the request until the response is available to the step. Both engines read the whole
+     * body before returning it, so this covers the complete response, not just its first byte.
+     */
+    RESPONSE,
+    /**
+     * {@link #RESPONSE} for a request sent alongside others of its scenario, by a batch or a data set.
+     * Kept apart because those requests compete for connections and server threads, so their times
+     * say little about a single request.
+     */
+    CONCURRENT_RESPONSE,
+    /** Reading the already buffered response body with body() or text(). */
+    BODY_READ,
+    /** Running the assertions of a Then step, excluding body reads. */
+    ASSERTION
+}
@@ -0,0 +1,60 @@
+package com.example.support.timing;
+
+import com.example.support.load.LatencyHistogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * JVM-wide per-endpoint, per-phase timings of every HTTP call made by the step definitions.
+ * Endpoints are normalised so that Scenario Outline rows and different ids aggregate together:
+ * the query string is dropped and numeric path segments become {id}, e.g. GET /users/{id}.
+ */
+public final class RequestTimings {
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+    private static final Map<String, Map<Phase, LatencyHistogram>> ENDPOINTS = new ConcurrentHashMap<>();
+
+    private RequestTimings() {
+    }
+
+    public static String endpointOf(String method, String path) {
+        int query = path.indexOf('?');
+        String withoutQuery = query < 0 ? path : path.substring(0, query);
+        return method + " " + NUMERIC_SEGMENT.matcher(withoutQuery).replaceAll("/{id}");
+    }
+
+    public static void record(String endpoint, Phase phase, long nanos) {
+        ENDPOINTS.computeIfAbsent(endpoint, e -> newPhaseMap()).get(phase).recordNanos(nanos);
+    }
+
+    /**
+     * Snapshot view of the histograms recorded so far, keyed by endpoint and sorted by name.
+     */
+    public static Map<String, Map<Phase, LatencyHistogram>> endpoints() {
+        return new TreeMap<>(ENDPOINTS);
+    }
+
+    public static String summary() {
+        StringBuilder summary = new StringBuilder("Request timings per endpoint:");
+        endpoints().forEach((endpoint, phases) -> {
+            summary.append(System.lineSeparator()).append("  ").append(endpoint);
+            phases.forEach((phase, histogram) -> {
+                if (histogram.count() > 0) {
+                    summary.append(System.lineSeparator()).append(String.format("    %-20s %s", phase, histogram.summary()));
+                }
+            });
+        });
+        return summary.toString();
+    }
+
+    private static Map<Phase, LatencyHistogram> newPhaseMap() {
+        Map<Phase, LatencyHistogram> phases = new EnumMap<>(Phase.class);
+        for (Phase phase : Phase.values()) {
+            phases.put(phase, new LatencyHistogram());
+        }
+        return phases;
+    }
+}
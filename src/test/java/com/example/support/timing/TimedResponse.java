@@ -0,0 +1,137 @@
+package com.example.support.timing;
+
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.options.HttpHeader;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Wraps a response so that reading its body is timed as the {@link Phase#BODY_READ} phase of its endpoint.
+ * If the call is being recorded by Flight Recorder, its {@link HttpCallEvent} is completed with the body
+ * read and assertion times and committed when the response is disposed.
+ */
+public class TimedResponse implements APIResponse {
+    private final APIResponse delegate;
+    private final String endpoint;
+    private HttpCallEvent event;
+    private long bodyReadNanos;
+    private long bodyBytesRead = -1;
+    private long assertionNanos;
+
+    public TimedResponse(APIResponse delegate, String endpoint) {
+        this(delegate, endpoint, null);
+    }
+
+    /**
+     * @param event the call's event, already ended when the response arrived, or null when not recording
+     */
+    public TimedResponse(APIResponse delegate, String endpoint, HttpCallEvent event) {
+        this.delegate = delegate;
+        this.endpoint = endpoint;
+        this.event = event;
+        if (event != null) {
+            event.status = delegate.status();
+        }
+    }
+
+    public String endpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Total time spent reading the body of this response so far.
+     */
+    public long bodyReadNanos() {
+        return bodyReadNanos;
+    }
+
+    @Override
+    public byte[] body() {
+        long start = System.nanoTime();
+        byte[] body = delegate.body();
+        recordBodyRead(System.nanoTime() - start);
+        bodyBytesRead = body.length;
+        return body;
+    }
+
+    @Override
+    public String text() {
+        long start = System.nanoTime();
+        String text = delegate.text();
+        recordBodyRead(System.nanoTime() - start);
+        if (event != null) {
+            bodyBytesRead = text.getBytes(StandardCharsets.UTF_8).length;
+        }
+        return text;
+    }
+
+    private void recordBodyRead(long nanos) {
+        bodyReadNanos += nanos;
+        RequestTimings.record(endpoint, Phase.BODY_READ, nanos);
+    }
+
+    /**
+     * Records time spent asserting on this response as the {@link Phase#ASSERTION} phase of its endpoint.
+     */
+    public void recordAssertion(long nanos) {
+        assertionNanos += nanos;
+        RequestTimings.record(endpoint, Phase.ASSERTION, nanos);
+    }
+
+    @Override
+    public void dispose() {
+        if (event != null) {
+            commitEvent();
+        }
+        delegate.dispose();
+    }
+
+    private void commitEvent() {
+        event.bodyReadTime = bodyReadNanos;
+        event.assertionTime = assertionNanos;
+        event.responseBytes = bodyBytesRead >= 0 ? bodyBytesRead : contentLength();
+        event.commit();
+        event = null;
+    }
+
+    private long contentLength() {
+        try {
+            String length = delegate.headers().get("content-length");
+            return length == null ? -1 : Long.parseLong(length.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public Map<String, String> headers() {
+        return delegate.headers();
+    }
+
+    @Override
+    public List<HttpHeader> headersArray() {
+        return delegate.headersArray();
+    }
+
+    @Override
+    public boolean ok() {
+        return delegate.ok();
+    }
+
+    @Override
+    public int status() {
+        return delegate.status();
+    }
+
+    @Override
+    public String statusText() {
+        return delegate.statusText();
+    }
+
+    @Override
+    public String url() {
+        return delegate.url();
+    }
+}
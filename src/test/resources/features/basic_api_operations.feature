@@ -14,12 +14,24 @@ Feature: Basic API Operations
     Then the response status should be 200
     And the response should be successful
     And the response should contain user data
+    And the JSON value at "$.length()" should be "10"
+    And every element of the response should match schema "user.json"
+
+  @sanity @engine:jdk
+  Scenario: Get all users with the in-process JDK HTTP engine
+    When I send a GET request to "/users"
+    Then the response status should be 200
+    And the response should be successful
+    And the JSON value at "$.length()" should be "10"
+    And every element of the response should match schema "user.json"
 
   @smoke
   Scenario: Get a single user
     When I send a GET request to "/users/1"
     Then the response status should be 200
     And the response should contain "Leanne Graham"
+    And the JSON value at "$.name" should be "Leanne Graham"
+    And the response should match schema "user.json"
 
   @test
   Scenario: Create a new post
@@ -29,6 +41,7 @@ Feature: Basic API Operations
       | userId | 1   |
     Then the response status should be 201
     And the response should contain "foo"
+    And the response should match schema "post.json"
 
   @regression
   Scenario: Update an existing post
@@ -56,3 +69,21 @@ Feature: Basic API Operations
       | 1      | Leanne Graham    |
       | 2      | Ervin Howell     |
       | 3      | Clementine Bauch |
+
+  @regression
+  Scenario: Get users listed in a CSV data set
+    When I stream the rows of "data/users.csv" through:
+      | request  | GET /users/{userId} |
+      | status   | {expectedStatus}    |
+      | contains | {expectedName}      |
+    Then every data set row should pass
+    And the data set should have at least 1000 rows
+
+  @regression
+  Scenario: Get posts listed in an NDJSON data set
+    When I stream the rows of "data/posts.ndjson" through:
+      | request  | GET /posts/{postId} |
+      | $.id     | {postId}            |
+      | $.userId | {userId}            |
+    Then every data set row should pass
+    And the data set should have at least 100 rows
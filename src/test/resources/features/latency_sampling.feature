@@ -0,0 +1,24 @@
+Feature: Latency Sampling
+  As a developer
+  I want every endpoint the suite calls to be measured several times in each run
+  So that the performance gate has enough samples to compare with the baseline
+
+  Background:
+    Given I have access to the JSONPlaceholder API
+
+  # One request at a time and never from the cache, so each sample is a real round trip.
+  # 20 samples per endpoint is well above perf.gate.minSamples. The write endpoints persist nothing.
+  @sanity @regression @nocache
+  Scenario: Sample the latency of every endpoint
+    When I send each of these requests 20 times:
+      | method | path              | body                                                             |
+      | GET    | /users            |                                                                  |
+      | GET    | /users/1          |                                                                  |
+      | GET    | /posts            |                                                                  |
+      | GET    | /posts/1          |                                                                  |
+      | GET    | /posts/1/comments |                                                                  |
+      | POST   | /posts            | {"title": "Sample", "body": "Sample body", "userId": 1}          |
+      | PUT    | /posts/1          | {"id": 1, "title": "Sample", "body": "Sample body", "userId": 1} |
+      | PATCH  | /posts/1          | {"title": "Sample"}                                              |
+      | DELETE | /posts/1          |                                                                  |
+    Then every sampled request should have succeeded
@@ -0,0 +1,25 @@
+Feature: Load Testing
+  As a developer
+  I want to put concurrent load on the API from the feature files
+  So that I can check latency and throughput without a separate tool
+
+  Background:
+    Given I have access to the JSONPlaceholder API
+
+  @performance
+  Scenario: Concurrent GET load on users
+    When I send 5000 GET requests to "/users" with concurrency 64
+    Then all load test requests should be successful
+    And the p99 latency should be below 500 ms and throughput above 200 rps
+
+  @performance
+  Scenario: Concurrent GET load on a nested resource
+    When I send 2000 GET requests to "/posts/1/comments" with concurrency 32
+    Then all load test requests should be successful
+    And the p95 latency should be below 500 ms
+
+  @performance @soak
+  Scenario: Fixed arrival rate soak on users
+    When I run a soak test of GET requests to "/users" at 50 requests per second for 20 seconds
+    Then all load test requests should be successful
+    And the p99 latency should be below 500 ms